@@ -1,37 +1,102 @@
 package com.rentit.gateway.config;
 
+import com.rentit.gateway.filter.RateLimiterGatewayFilterFactory;
+import com.rentit.gateway.filter.ResponseCacheGatewayFilterFactory;
+import com.rentit.gateway.filter.RetryBudgetGatewayFilterFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
 
 @Configuration
 public class GatewayConfig {
 
+    @Autowired
+    private RetryBudgetGatewayFilterFactory retryBudget;
+
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
+                                           ResponseCacheGatewayFilterFactory responseCache,
+                                           RateLimiterGatewayFilterFactory rateLimiter) {
+        // public catalog and reference data: answered from the gateway while fresh
+        GatewayFilter catalogCache = responseCache.apply(c -> c
+                .setTtl(Duration.ofSeconds(30))
+                .setStaleWhileRevalidate(Duration.ofMinutes(2)));
+        GatewayFilter referenceCache = responseCache.apply(c -> c
+                .setTtl(Duration.ofMinutes(5))
+                .setStaleWhileRevalidate(Duration.ofMinutes(10)));
+
+        // per caller (user id, or IP before login): capacity tokens, refilled over the period.
+        // login and register run BCrypt; the product listing ships every image
+        GatewayFilter loginLimit = rateLimiter.apply(c -> c
+                .setCapacity(10)
+                .setRefillPeriod(Duration.ofMinutes(1)));
+        GatewayFilter registerLimit = rateLimiter.apply(c -> c
+                .setCapacity(5)
+                .setRefillPeriod(Duration.ofMinutes(1)));
+        GatewayFilter refreshLimit = rateLimiter.apply(c -> c
+                .setCapacity(30)
+                .setRefillPeriod(Duration.ofMinutes(1)));
+        GatewayFilter productListLimit = rateLimiter.apply(c -> c
+                .setCapacity(60)
+                .setRefillPeriod(Duration.ofMinutes(1)));
+
         return builder.routes()
                 
                 // ========== AUTH ROUTES (No JWT Required) ==========
                 .route("auth-login", r -> r
                         .path("/api/login")
+                        .filters(f -> protect(f.filter(loginLimit), "login"))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 8000)
                         .uri("lb://REGISTRATIONSERVICE"))
                 
+                .route("auth-token-refresh", r -> r
+                        .path("/api/token/refresh")
+                        .filters(f -> protect(f.filter(refreshLimit), "login"))
+                        .uri("lb://REGISTRATIONSERVICE"))
+
+                .route("auth-logout", r -> r
+                        .path("/api/logout")
+                        .filters(f -> protect(f, "login"))
+                        .uri("lb://REGISTRATIONSERVICE"))
+
                 .route("auth-register", r -> r
                         .path("/api/register")
+                        .filters(f -> protect(f.filter(registerLimit), "login"))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 8000)
                         .uri("lb://REGISTRATIONSERVICE"))
 
                 
                 .route("auth-states", r -> r
                         .path("/states")
+                        .filters(f -> protect(f, "login"))
                         .uri("lb://REGISTRATIONSERVICE"))
 
                 .route("auth-cities", r -> r
                         .path("/cities/**")
+                        .filters(f -> protect(f, "login"))
                         .uri("lb://REGISTRATIONSERVICE"))
 
                 .route("auth-roles", r -> r
                         .path("/api/getallroles")
+                        .filters(f -> protect(f, "login"))
+                        .uri("lb://REGISTRATIONSERVICE"))
+
+                // RegistrationService's own reference caches (states, cities, roles); OwnerService's
+                // are at /api/cache/reference. The gateway does not cache these routes
+                .route("auth-cache-reference", r -> r
+                        .path("/api/cache/login-reference")
+                        .filters(f -> protect(f, "login"))
                         .uri("lb://REGISTRATIONSERVICE"))
 
                 // =================================================
@@ -40,6 +105,7 @@ public class GatewayConfig {
 
                 .route("admin-all", r -> r
                         .path("/api/admin/**")
+                        .filters(f -> protect(f, "admin"))
                         .uri("lb://AdminService"))
 
                 // =================================================
@@ -47,6 +113,7 @@ public class GatewayConfig {
                 // =================================================
                 .route("billing-service", r -> r
                         .path("/api/Billing/all")
+                        .filters(f -> protect(f, "billing"))
                         .uri("lb://BillingService"))
 
                 // ========== SEARCH SERVICE ROUTES (Public - No JWT Required) ==========
@@ -54,39 +121,55 @@ public class GatewayConfig {
                 // Get all categories for home page
                 .route("search-categories", r -> r
                         .path("/api/catalog/categories")
+                        .filters(f -> protect(f.filter(catalogCache), "search"))
                         .uri("lb://SEARCHSERVICE"))
 
                 // Get items by category
                 .route("search-category-items", r -> r
                         .path("/api/catalog/categories/*/items")
+                        .filters(f -> protect(f.filter(catalogCache), "search"))
                         .uri("lb://SEARCHSERVICE"))
 
                 // Get item details
                 .route("search-item-detail", r -> r
                         .path("/api/catalog/items/*")
+                        .filters(f -> protect(f.filter(catalogCache), "search"))
                         .uri("lb://SEARCHSERVICE"))
 
                 // Search items
                 .route("search-items", r -> r
                         .path("/api/catalog/search")
+                        .filters(f -> protect(f.filter(catalogCache), "search"))
                         .uri("lb://SEARCHSERVICE"))
 
                 // Catch-all for any other catalog endpoints
                 .route("search-catalog-all", r -> r
                         .path("/api/catalog/**")
+                        .filters(f -> protect(f.filter(catalogCache), "search"))
                         .uri("lb://SEARCHSERVICE"))
                 
                 // ========== PRODUCT / OWNER SERVICE ==========
                 .route("product-categories", r -> r
                         .path("/api/categories")
+                        .filters(f -> protect(f.filter(referenceCache), "owner"))
                         .uri("lb://OwnerService"))
 
                 .route("product-items", r -> r
                         .path("/api/items/**")
+                        .filters(f -> protect(f.filter(referenceCache), "owner"))
+                        .uri("lb://OwnerService"))
+
+                // ADMIN clears OwnerService's reference caches; the gateway's copies go with them
+                .route("product-cache-reference", r -> r
+                        .path("/api/cache/reference")
+                        .filters(f -> protect(f.filter(
+                                responseCache.invalidateOnSuccess("/api/categories", "/api/items")), "owner"))
                         .uri("lb://OwnerService"))
 
                 .route("product-products", r -> r
                         .path("/api/products/**")
+                        .filters(f -> protect(f, "owner"))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 15000)
                         .uri("lb://OwnerService"))
                 
                 // ================= CUSTOMER / CART =================
@@ -97,21 +180,49 @@ public class GatewayConfig {
                         "/getproductsbyid",
                         "/deleteproductfromcart/**"
                         )
+                        .filters(f -> protect(f, "customer"))
                         .uri("lb://AddToCartService"))
 
                 // ================= CUSTOMER / ORDER =================
+                // checkout books every cart line under the item locks; give it longer than
+                // the default so a slow commit is not cut off and reported as a failure
                 .route("customer-order", r -> r
                         .path("/order/**")
+                        .filters(f -> protect(f, "customer"))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 15000)
                         .uri("lb://AddToCartService"))
 
                 // ================= CUSTOMER / VIEW PRODUCTS =================
                 .route("customer-products", r -> r
                         .path(
                         "/getallproducts",
+                        "/getproducts",
                         "/*/details"
                         )
+                        .filters(f -> protect(f.filter(productListLimit), "customer"))
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 15000)
                         .uri("lb://AddToCartService"))
 
                 .build();
     }
-}
\ No newline at end of file
+
+    // Every lb:// route: a circuit breaker per backend (fallback /fallback/{backend}, which
+    // answers non-GETs that may have reached the backend with 504 and no Retry-After),
+    // up to two retries for GETs on connect errors, timeouts and 502/503/504, and a
+    // retry budget so those retries cannot pile onto a backend that is already down.
+    // Response timeouts come from spring.cloud.gateway.httpclient or route metadata.
+    private GatewayFilterSpec protect(GatewayFilterSpec f, String backend) {
+        return f
+                .circuitBreaker(c -> c
+                        .setName(backend)
+                        .setFallbackUri("forward:/fallback/" + backend)
+                        .setStatusCodes(Set.of("502", "504")))
+                .retry(c -> c
+                        .setRetries(2)
+                        .setMethods(HttpMethod.GET)
+                        .setSeries()
+                        .setStatuses(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT)
+                        .setBackoff(Duration.ofMillis(50), Duration.ofMillis(500), 2, true))
+                .filter(retryBudget.apply(c -> c.setBackend(backend)));
+    }
+}
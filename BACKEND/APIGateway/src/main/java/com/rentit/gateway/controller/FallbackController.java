@@ -0,0 +1,45 @@
+package com.rentit.gateway.controller;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Map;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Target of the circuit breakers' forward:/fallback/{backend}: the backend
+ * timed out, failed, or its breaker is open. Retry-After matches the time
+ * an open breaker waits before letting trial calls through.
+ * <p>
+ * An open breaker never sent the request, so any method gets 503 and may be
+ * retried. Otherwise a GET is safe to repeat, but a POST/PUT/DELETE may have
+ * been applied before the timeout or failure (an order placed, a user
+ * registered), so it gets 504 and no retry advice; the client has to check
+ * the outcome before sending it again.
+ */
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    @RequestMapping("/{backend}")
+    public ResponseEntity<Map<String, String>> fallback(@PathVariable String backend, ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        Throwable failure = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        boolean notSent = failure instanceof CallNotPermittedException;
+
+        if (notSent || method == HttpMethod.GET || method == HttpMethod.HEAD) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "10")
+                    .body(Map.of("error", backend + " is temporarily unavailable, please retry"));
+        }
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of("error", backend + " did not answer in time; the request may or may not have been applied"));
+    }
+}
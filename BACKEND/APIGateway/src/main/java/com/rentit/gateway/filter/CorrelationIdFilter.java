@@ -0,0 +1,45 @@
+package com.rentit.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an X-Correlation-Id before anything else runs. A
+ * well-formed id from the client is kept (so a frontend can tie its own logs
+ * in), anything else is replaced. Services put it in their log lines and the
+ * client gets it back on the response.
+ */
+@Component
+public class CorrelationIdFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER = "X-Correlation-Id";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String id = exchange.getRequest().getHeaders().getFirst(HEADER);
+        if (id == null || !VALID.matcher(id).matches()) {
+            id = UUID.randomUUID().toString();
+        }
+        String correlationId = id;
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(HEADER, correlationId))
+                .build();
+        exchange.getResponse().getHeaders().set(HEADER, correlationId);
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,78 @@
+package com.rentit.gateway.filter;
+
+import com.rentit.gateway.util.IdentitySigner;
+import com.rentit.gateway.util.JwtUtil;
+import com.rentit.gateway.util.RevocationList;
+import com.rentit.gateway.util.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs on every route. Identity headers sent by the client are always
+ * dropped; if the request carries a valid bearer token the gateway adds its
+ * own signed X-User-Id / X-User-Role. The token itself is still forwarded,
+ * and requests without one pass through unchanged - each service decides
+ * what needs authentication. A validly signed but revoked token is refused
+ * here, since services in jwt mode would otherwise still accept it.
+ */
+@Component
+public class IdentityHeadersFilter implements GlobalFilter, Ordered {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private IdentitySigner identitySigner;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        VerifiedToken verified = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            verified = jwtUtil.verify(authHeader.substring(7));
+        }
+        if (verified != null && revocationList.isRevoked(verified.jti())) {
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        VerifiedToken identity = verified;
+
+        ServerHttpRequest modifiedRequest = request.mutate()
+                .headers(headers -> {
+                    headers.remove(IdentitySigner.USER_ID_HEADER);
+                    headers.remove(IdentitySigner.ROLE_HEADER);
+                    headers.remove(IdentitySigner.TIMESTAMP_HEADER);
+                    headers.remove(IdentitySigner.SIGNATURE_HEADER);
+
+                    if (identity != null && identity.userId() != null && identity.role() != null) {
+                        long now = System.currentTimeMillis();
+                        headers.set(IdentitySigner.USER_ID_HEADER, identity.userId());
+                        headers.set(IdentitySigner.ROLE_HEADER, identity.role());
+                        headers.set(IdentitySigner.TIMESTAMP_HEADER, Long.toString(now));
+                        headers.set(IdentitySigner.SIGNATURE_HEADER,
+                                identitySigner.sign(identity.userId(), identity.role(), now));
+                    }
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
@@ -1,88 +0,0 @@
-package com.rentit.gateway.filter;
-
-import com.rentit.gateway.util.JwtUtil;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.gateway.filter.GatewayFilter;
-import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.stereotype.Component;
-import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Mono;
-
-@Component
-public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
-
-    @Autowired
-    private JwtUtil jwtUtil;
-
-    public JwtAuthenticationFilter() {
-        super(Config.class);
-    }
-
-    @Override
-    public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-
-            String path = request.getURI().getPath();
-
-            // ✅ PUBLIC ENDPOINTS (NO JWT REQUIRED)
-            if (
-                path.startsWith("/api/login") ||
-                path.startsWith("/api/register") ||
-                path.startsWith("/api/catalog")
-            ) {
-                return chain.filter(exchange);
-            }
-
-
-            // Extract Authorization header
-            if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                return onError(exchange, "Missing Authorization header", HttpStatus.UNAUTHORIZED);
-            }
-
-            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-                return onError(exchange, "Invalid Authorization header", HttpStatus.UNAUTHORIZED);
-            }
-
-            String token = authHeader.substring(7);
-
-            // Validate JWT
-            if (!jwtUtil.isTokenValid(token)) {
-                return onError(exchange, "Invalid or expired JWT token", HttpStatus.UNAUTHORIZED);
-            }
-
-            // Extract user info and add to headers
-            String userId = jwtUtil.extractUserId(token);
-            String role = jwtUtil.extractRole(token);
-
-            // Add headers for downstream services
-            ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Id", userId)
-                    .header("X-User-Role", role)
-                    .build();
-
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
-        };
-    }
-
-    private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
-        exchange.getResponse().setStatusCode(status);
-        exchange.getResponse().getHeaders().add("Content-Type", "application/json");
-        
-        String errorResponse = "{\"error\": \"" + message + "\"}";
-        
-        org.springframework.core.io.buffer.DataBuffer buffer = 
-            exchange.getResponse().bufferFactory().wrap(errorResponse.getBytes());
-        
-        return exchange.getResponse().writeWith(Mono.just(buffer));
-    }
-
-    public static class Config {
-        // Configuration properties if needed
-    }
-}
\ No newline at end of file
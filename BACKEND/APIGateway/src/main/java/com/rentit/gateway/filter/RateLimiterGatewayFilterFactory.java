@@ -0,0 +1,107 @@
+package com.rentit.gateway.filter;
+
+import com.rentit.gateway.util.IdentitySigner;
+import com.rentit.gateway.util.TokenBucketStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * Per-route token bucket, one bucket per caller: the X-User-Id the gateway
+ * set from a verified token (IdentityHeadersFilter runs first and drops any
+ * client-sent copy), or the client IP for anonymous requests. Refused
+ * requests get 429 with Retry-After in whole seconds.
+ * Metrics: gateway.ratelimit.requests{route,outcome} and gateway.ratelimit.buckets.
+ */
+@Component
+public class RateLimiterGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RateLimiterGatewayFilterFactory.Config> {
+
+    private final TokenBucketStore store;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimiterGatewayFilterFactory(TokenBucketStore store, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("gateway.ratelimit.buckets", store, TokenBucketStore::size)
+                .description("Rate-limit buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+
+            TokenBucketStore.Decision decision = store.tryConsume(
+                    routeId + ":" + callerKey(exchange.getRequest()),
+                    config.getCapacity(), config.getRefillPeriod());
+
+            ServerHttpResponse response = exchange.getResponse();
+            if (decision.allowed()) {
+                meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "outcome", "allowed").increment();
+                response.getHeaders().set("X-RateLimit-Remaining", Long.toString(decision.remaining()));
+                return chain.filter(exchange);
+            }
+
+            meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "outcome", "rejected").increment();
+            long retryAfter = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+            response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().set("Retry-After", Long.toString(retryAfter));
+            response.getHeaders().set("X-RateLimit-Remaining", "0");
+            response.getHeaders().add("Content-Type", "application/json");
+            DataBuffer buffer = response.bufferFactory()
+                    .wrap("{\"error\": \"Too many requests\"}".getBytes());
+            return response.writeWith(Mono.just(buffer));
+        };
+    }
+
+    private static String callerKey(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst(IdentitySigner.USER_ID_HEADER);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return "ip:" + (remote != null && remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : "unknown");
+    }
+
+    public static class Config {
+
+        private int capacity = 60;
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public Config setCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public Config setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.rentit.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cache for public GET routes that opt in from GatewayConfig.
+ * Entries are keyed by path, query and Accept-Encoding and bounded by total
+ * body bytes. A fresh entry is answered without calling the backend; once it
+ * is older than {@code ttl} it is still served for {@code staleWhileRevalidate}
+ * while one background request refreshes it. Concurrent misses for the same
+ * key wait for the first request's response instead of each going upstream.
+ * Only 200 responses without Set-Cookie, private or no-store are stored, so
+ * apply it only to routes whose responses do not depend on the caller.
+ * <p>
+ * The background refresh is a plain load-balanced GET to the route's URI: it
+ * skips the route's other filters (circuit breaker, retries, rate limits), so
+ * a failed refresh only leaves the stale entry in place until it expires.
+ * Backends that clear their own caches should do so through a route carrying
+ * {@link #invalidateOnSuccess}, or the gateway keeps serving the old data for
+ * up to ttl + staleWhileRevalidate.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheGatewayFilterFactory.class);
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    // bumped by invalidate(); responses fetched under an older generation are not stored
+    private final AtomicLong generation = new AtomicLong();
+    private final WebClient webClient;
+    private final int maxEntryBytes;
+    private final Duration coalesceTimeout;
+
+    public ResponseCacheGatewayFilterFactory(
+            ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+            @Value("${rentit.gateway.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${rentit.gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes,
+            @Value("${rentit.gateway.cache.coalesce-timeout:PT10S}") Duration coalesceTimeout) {
+        super(Config.class);
+        this.maxEntryBytes = maxEntryBytes;
+        this.coalesceTimeout = coalesceTimeout;
+        this.webClient = WebClient.builder()
+                .filter(loadBalancer)
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(maxEntryBytes))
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse value) -> value.body().length + key.length())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return Math.max(0, value.staleUntil() - System.nanoTime());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return Math.max(0, value.staleUntil() - System.nanoTime());
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GatewayFilter filter = (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(request);
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                long now = System.nanoTime();
+                if (now < cached.freshUntil()) {
+                    return writeCached(exchange, cached, "HIT");
+                }
+                if (now < cached.staleUntil()) {
+                    revalidate(key, exchange, config);
+                    return writeCached(exchange, cached, "STALE");
+                }
+            }
+
+            Sinks.One<CachedResponse> sink = Sinks.one();
+            Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                // someone is already fetching this key; reuse their response,
+                // or go upstream ourselves if it turned out not to be cacheable
+                return leader.asMono()
+                        .timeout(coalesceTimeout, Mono.empty())
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(response -> response.isPresent()
+                                ? writeCached(exchange, response.get(), "HIT")
+                                : chain.filter(exchange));
+            }
+
+            exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            ServerHttpResponse recording = new RecordingResponse(exchange.getResponse(), key, config, sink,
+                    generation.get());
+            return chain.filter(exchange.mutate().response(recording).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        sink.tryEmitEmpty();
+                    });
+        };
+        // must wrap the response before NettyWriteResponseFilter writes the upstream body
+        return new OrderedGatewayFilter(filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /** Drops every entry whose path starts with one of the prefixes. */
+    public void invalidate(String... pathPrefixes) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            for (String prefix : pathPrefixes) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * For the route of a backend's cache-eviction endpoint: once the backend
+     * answers a non-GET request with 2xx, the gateway drops its copies under
+     * the given path prefixes.
+     */
+    public GatewayFilter invalidateOnSuccess(String... pathPrefixes) {
+        return (exchange, chain) -> chain.filter(exchange)
+                .then(Mono.fromRunnable(() -> {
+                    HttpMethod method = exchange.getRequest().getMethod();
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (method != HttpMethod.GET && method != HttpMethod.HEAD
+                            && status != null && status.is2xxSuccessful()) {
+                        invalidate(pathPrefixes);
+                    }
+                }));
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        URI uri = request.getURI();
+        String encoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+        return uri.getRawPath()
+                + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "")
+                + "|" + (encoding != null ? encoding : "");
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String status) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.valueOf(cached.status()));
+        HttpHeaders headers = response.getHeaders();
+        // CORS headers were already set for this request's Origin; keep them
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(CACHE_STATUS_HEADER, status);
+        headers.set(HttpHeaders.AGE, Long.toString(
+                Duration.ofNanos(System.nanoTime() - cached.storedAt()).toSeconds()));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private CachedResponse store(String key, int status, HttpHeaders upstreamHeaders, byte[] body, Config config,
+                                 long fetchedIn) {
+        if (status != HttpStatus.OK.value() || body.length > maxEntryBytes || !cacheable(upstreamHeaders)
+                || fetchedIn != generation.get()) {
+            return null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (!name.regionMatches(true, 0, "Access-Control-", 0, 15)
+                    && !name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)
+                    && !name.equalsIgnoreCase(HttpHeaders.CONNECTION)
+                    && !name.equalsIgnoreCase(HttpHeaders.AGE)
+                    && !name.equalsIgnoreCase(CACHE_STATUS_HEADER)) {
+                headers.put(name, values);
+            }
+        });
+        long now = System.nanoTime();
+        long freshUntil = now + config.getTtl().toNanos();
+        CachedResponse entry = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body,
+                now, freshUntil, freshUntil + config.getStaleWhileRevalidate().toNanos());
+        cache.put(key, entry);
+        return entry;
+    }
+
+    private static boolean cacheable(HttpHeaders headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null
+                || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    // one background refresh per key; the stale entry keeps being served meanwhile
+    private void revalidate(String key, ServerWebExchange exchange, Config config) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !revalidating.add(key)) {
+            return;
+        }
+        URI original = exchange.getRequest().getURI();
+        URI target = UriComponentsBuilder.fromUri(route.getUri())
+                .replacePath(original.getRawPath())
+                .replaceQuery(original.getRawQuery())
+                .build(true)
+                .toUri();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        long fetchedIn = generation.get();
+
+        webClient.get()
+                .uri(target)
+                .headers(h -> {
+                    copyHeader(requestHeaders, h, HttpHeaders.ACCEPT);
+                    copyHeader(requestHeaders, h, HttpHeaders.ACCEPT_ENCODING);
+                })
+                .retrieve()
+                .toEntity(byte[].class)
+                .timeout(coalesceTimeout)
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(entity -> storeEntity(key, entity, config, fetchedIn),
+                        e -> log.warn("Cache revalidation failed for {}: {}", key, e.getMessage()));
+    }
+
+    private void storeEntity(String key, ResponseEntity<byte[]> entity, Config config, long fetchedIn) {
+        byte[] body = entity.getBody() != null ? entity.getBody() : new byte[0];
+        store(key, entity.getStatusCode().value(), entity.getHeaders(), body, config, fetchedIn);
+    }
+
+    private static void copyHeader(HttpHeaders from, HttpHeaders to, String name) {
+        String value = from.getFirst(name);
+        if (value != null) {
+            to.set(name, value);
+        }
+    }
+
+    /** Buffers the upstream body once, stores it and hands it to any waiting requests. */
+    private class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Config config;
+        private final Sinks.One<CachedResponse> sink;
+        private final long fetchedIn;
+
+        RecordingResponse(ServerHttpResponse delegate, String key, Config config, Sinks.One<CachedResponse> sink,
+                          long fetchedIn) {
+            super(delegate);
+            this.key = key;
+            this.config = config;
+            this.sink = sink;
+            this.fetchedIn = fetchedIn;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body))
+                    .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+
+                        int status = getStatusCode() != null ? getStatusCode().value() : HttpStatus.OK.value();
+                        CachedResponse entry = store(key, status, getHeaders(), bytes, config, fetchedIn);
+                        if (entry != null) {
+                            sink.tryEmitValue(entry);
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).flatMapSequential(p -> p));
+        }
+    }
+
+    record CachedResponse(int status, HttpHeaders headers, byte[] body,
+                          long storedAt, long freshUntil, long staleUntil) {
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofSeconds(30);
+        private Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public Config setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            return this;
+        }
+    }
+}
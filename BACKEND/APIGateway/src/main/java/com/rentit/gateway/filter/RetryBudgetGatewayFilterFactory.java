@@ -0,0 +1,67 @@
+package com.rentit.gateway.filter;
+
+import com.rentit.gateway.util.RetryBudget;
+import com.rentit.gateway.util.RetryBudgetExhaustedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Goes after the Retry filter on a route, so it sees every attempt. The first
+ * attempt pays into the backend's {@link RetryBudget}; a later one is let
+ * through only if the budget has a retry left. Otherwise it fails with an
+ * exception the Retry filter does not retry on, which ends the loop and
+ * leaves the circuit breaker to answer with its fallback.
+ */
+@Component
+public class RetryBudgetGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    private static final String ATTEMPT_ATTR = RetryBudgetGatewayFilterFactory.class.getName() + ".attempt";
+
+    private final RetryBudget budget;
+    private final MeterRegistry meterRegistry;
+
+    public RetryBudgetGatewayFilterFactory(RetryBudget budget, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String backend = config.getBackend();
+        meterRegistry.gauge("gateway.retry.budget", Tags.of("backend", backend), budget, b -> b.available(backend));
+
+        return (exchange, chain) -> {
+            int attempt = (Integer) exchange.getAttributes().merge(ATTEMPT_ATTR, 1, (a, b) -> (Integer) a + 1);
+            if (attempt == 1) {
+                budget.recordRequest(backend);
+                return chain.filter(exchange);
+            }
+            if (!budget.tryRetry(backend)) {
+                meterRegistry.counter("gateway.retry.attempts", "backend", backend, "outcome", "denied").increment();
+                return Mono.error(new RetryBudgetExhaustedException(backend));
+            }
+            meterRegistry.counter("gateway.retry.attempts", "backend", backend, "outcome", "allowed").increment();
+            return chain.filter(exchange);
+        };
+    }
+
+    public static class Config {
+
+        private String backend = "default";
+
+        public String getBackend() {
+            return backend;
+        }
+
+        public Config setBackend(String backend) {
+            this.backend = backend;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.rentit.gateway.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Each bucket is a single AtomicLong updated by compare-and-set, so requests
+ * never block each other. The long is the time at which the bucket will be
+ * full again (the GCRA form of a token bucket): taking a token pushes it one
+ * refill interval further, and a request is refused when that would put it
+ * more than {@code capacity} intervals ahead of now.
+ * Idle buckets are dropped after {@code idle-expiry}; a dropped bucket comes
+ * back full, so the expiry should not be shorter than the longest refill period.
+ */
+@Component
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryTokenBucketStore(@Value("${rentit.gateway.ratelimit.max-buckets:100000}") long maxBuckets,
+                                    @Value("${rentit.gateway.ratelimit.idle-expiry:PT10M}") Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public Decision tryConsume(String key, int capacity, Duration refillPeriod) {
+        long interval = refillPeriod.toNanos() / capacity;
+        long window = interval * capacity;
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long ahead = next - now;
+            if (ahead > window) {
+                return new Decision(false, 0, Duration.ofNanos(ahead - window));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Decision(true, (window - ahead) / interval, Duration.ZERO);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
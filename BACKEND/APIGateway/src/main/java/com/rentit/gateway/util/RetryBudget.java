@@ -0,0 +1,57 @@
+package com.rentit.gateway.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retries allowed per backend as a share of its first attempts. Every request
+ * deposits {@code ratio} of a retry (capped at {@code max-balance}), every retry
+ * withdraws one. When a backend is failing everything, retries stop once the
+ * balance is spent instead of multiplying its load by the attempt count.
+ * Balances are kept in thousandths of a retry.
+ */
+@Component
+public class RetryBudget {
+
+    private static final long ONE_RETRY = 1000;
+
+    private final Map<String, AtomicLong> balances = new ConcurrentHashMap<>();
+    private final long deposit;
+    private final long maxBalance;
+
+    public RetryBudget(@Value("${rentit.gateway.retry.budget-ratio:0.2}") double ratio,
+                       @Value("${rentit.gateway.retry.max-balance:20}") int maxBalance) {
+        this.deposit = Math.round(ratio * ONE_RETRY);
+        this.maxBalance = maxBalance * ONE_RETRY;
+    }
+
+    public void recordRequest(String backend) {
+        balance(backend).accumulateAndGet(deposit, (current, add) -> Math.min(maxBalance, current + add));
+    }
+
+    public boolean tryRetry(String backend) {
+        AtomicLong balance = balance(backend);
+        while (true) {
+            long current = balance.get();
+            if (current < ONE_RETRY) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - ONE_RETRY)) {
+                return true;
+            }
+        }
+    }
+
+    public double available(String backend) {
+        return balance(backend).get() / (double) ONE_RETRY;
+    }
+
+    private AtomicLong balance(String backend) {
+        // start with a full balance so a cold gateway can still retry
+        return balances.computeIfAbsent(backend, k -> new AtomicLong(maxBalance));
+    }
+}
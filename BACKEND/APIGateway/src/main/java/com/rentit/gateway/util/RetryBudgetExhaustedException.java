@@ -0,0 +1,8 @@
+package com.rentit.gateway.util;
+
+public class RetryBudgetExhaustedException extends RuntimeException {
+
+    public RetryBudgetExhaustedException(String backend) {
+        super("Retry budget exhausted for " + backend);
+    }
+}
@@ -0,0 +1,87 @@
+package com.rentit.gateway.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Local copy of LoginService's revoked-token Bloom filter, polled from
+ * GET /api/token/revocations, which LoginService only answers for requests
+ * signed as the gateway (role GATEWAY). {@link #isRevoked} is a few bit lookups with no
+ * I/O, so the per-request cost does not grow with the number of revocations.
+ * If a poll fails the previous filter stays in place; access tokens are
+ * short-lived, so a stale filter can only miss revocations for that long.
+ * A false positive (about one in a million) makes the client refresh its token.
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    // identity the gateway signs for its own calls; no user has this role
+    private static final String GATEWAY_USER_ID = "0";
+    private static final String GATEWAY_ROLE = "GATEWAY";
+
+    private final WebClient webClient;
+    private final String url;
+    private final Duration timeout;
+    private final IdentitySigner identitySigner;
+
+    private volatile BloomFilter filter;
+    private volatile long generatedAt;
+
+    public RevocationList(ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                          @Value("${rentit.revocation.url:lb://REGISTRATIONSERVICE/api/token/revocations}") String url,
+                          @Value("${rentit.revocation.timeout:PT2S}") Duration timeout,
+                          IdentitySigner identitySigner) {
+        this.webClient = WebClient.builder().filter(loadBalancer).build();
+        this.url = url;
+        this.timeout = timeout;
+        this.identitySigner = identitySigner;
+    }
+
+    public boolean isRevoked(String jti) {
+        BloomFilter current = filter;
+        return jti != null && current != null && current.mightContain(jti);
+    }
+
+    public long getGeneratedAt() {
+        return generatedAt;
+    }
+
+    @Scheduled(initialDelayString = "PT5S", fixedDelayString = "${rentit.revocation.poll-interval:PT10S}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        webClient.get()
+                .uri(url)
+                .header(IdentitySigner.USER_ID_HEADER, GATEWAY_USER_ID)
+                .header(IdentitySigner.ROLE_HEADER, GATEWAY_ROLE)
+                .header(IdentitySigner.TIMESTAMP_HEADER, Long.toString(now))
+                .header(IdentitySigner.SIGNATURE_HEADER, identitySigner.sign(GATEWAY_USER_ID, GATEWAY_ROLE, now))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .subscribe(this::load,
+                        e -> log.warn("Revocation list refresh failed: {}", e.getMessage()));
+    }
+
+    void load(JsonNode body) {
+        long version = body.path("generatedAt").asLong();
+        if (version == generatedAt) {
+            return;
+        }
+        filter = BloomFilter.fromBytes(
+                Base64.getDecoder().decode(body.path("bits").asText()),
+                body.path("numBits").asInt(),
+                body.path("numHashes").asInt());
+        generatedAt = version;
+    }
+}
@@ -0,0 +1,23 @@
+package com.rentit.gateway.util;
+
+import java.time.Duration;
+
+/**
+ * Token buckets for the gateway rate limiter. The in-memory store keeps
+ * limits per gateway instance; a shared implementation (Redis, say) can be
+ * dropped in behind this interface to make them cluster-wide.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}, which holds up to
+     * {@code capacity} tokens and refills all of them evenly over {@code refillPeriod}.
+     */
+    Decision tryConsume(String key, int capacity, Duration refillPeriod);
+
+    /** Number of buckets currently tracked. */
+    long size();
+
+    record Decision(boolean allowed, long remaining, Duration retryAfter) {
+    }
+}
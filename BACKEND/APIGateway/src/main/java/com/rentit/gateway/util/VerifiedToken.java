@@ -0,0 +1,15 @@
+package com.rentit.gateway.util;
+
+import java.time.Instant;
+
+/**
+ * The parts of a verified JWT the gateway forwards downstream.
+ * expiresAt is null for tokens issued without an exp claim, jti for tokens
+ * issued before LoginService added one (those cannot be revoked).
+ */
+public record VerifiedToken(String userId, String role, Instant expiresAt, String jti) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -3,7 +3,7 @@ package com.rentit.gateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "rentit.identity.secret=test-identity-secret")
 class ApiGatewayApplicationTests {
 
 	@Test
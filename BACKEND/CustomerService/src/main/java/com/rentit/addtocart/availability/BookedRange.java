@@ -0,0 +1,9 @@
+package com.rentit.addtocart.availability;
+
+import java.time.LocalDate;
+
+// projection of an order's rental period
+public interface BookedRange {
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
@@ -0,0 +1,10 @@
+package com.rentit.addtocart.availability;
+
+import java.time.LocalDate;
+
+public class BookingConflictException extends RuntimeException {
+
+    public BookingConflictException(Integer itemId, LocalDate start, LocalDate end) {
+        super("Item " + itemId + " is already booked between " + start + " and " + end);
+    }
+}
@@ -0,0 +1,67 @@
+package com.rentit.addtocart.availability;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Booked date ranges of one item, kept disjoint and sorted by start date.
+ * Dates are inclusive on both ends, like order_table.start_date/end_date.
+ * Reservations of the item are serialized by its row lock, but a committed
+ * booking is added after that lock is released, so every method synchronizes.
+ * None of them does I/O.
+ */
+class ItemBookings {
+
+    private final TreeMap<LocalDate, LocalDate> ranges = new TreeMap<>();
+
+    // owner_items.version these ranges were loaded at; null until first load
+    private Integer version;
+
+    synchronized Integer getVersion() {
+        return version;
+    }
+
+    // O(log n): with disjoint ranges only the last one starting on/before end can overlap
+    synchronized boolean overlaps(LocalDate start, LocalDate end) {
+        Map.Entry<LocalDate, LocalDate> floor = ranges.floorEntry(end);
+        return floor != null && !floor.getValue().isBefore(start);
+    }
+
+    // a committed booking at that row version; a later reload may already hold it
+    synchronized void add(LocalDate start, LocalDate end, Integer bookedVersion) {
+        ranges.put(start, end);
+        if (version == null || bookedVersion > version) {
+            version = bookedVersion;
+        }
+    }
+
+    // rebuild from stored orders; legacy rows may overlap, so merge them
+    synchronized void reload(Iterable<BookedRange> booked, Integer version) {
+        ranges.clear();
+        for (BookedRange range : booked) {
+            LocalDate start = range.getStartDate();
+            LocalDate end = range.getEndDate();
+            if (start == null || end == null) {
+                continue;
+            }
+            Map.Entry<LocalDate, LocalDate> floor = ranges.floorEntry(end);
+            while (floor != null && !floor.getValue().isBefore(start)) {
+                ranges.remove(floor.getKey());
+                if (floor.getKey().isBefore(start)) {
+                    start = floor.getKey();
+                }
+                if (floor.getValue().isAfter(end)) {
+                    end = floor.getValue();
+                }
+                floor = ranges.floorEntry(end);
+            }
+            ranges.put(start, end);
+        }
+        this.version = version;
+    }
+
+    synchronized int size() {
+        return ranges.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.rentit.addtocart.availability;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rentit.addtocart.entities.OwnerItem;
+import com.rentit.addtocart.repositories.OrderTableRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Admits rental periods per item without double booking.
+ *
+ * Each item's booked ranges are cached in an {@link ItemBookings} index, so the
+ * overlap check is a single TreeMap lookup. Bookings of an item are serialized
+ * by its owner_items row: reserve() re-reads it with SELECT ... FOR UPDATE and
+ * holds that lock until the order transaction ends, which also covers other
+ * instances of this service. The locking read sees the version other
+ * transactions committed (a plain read would see the caller's REPEATABLE READ
+ * snapshot, taken before the wait). Every booking bumps owner_items.version,
+ * and an index whose version is behind the row is reloaded before it is used.
+ *
+ * A range enters the index only after its transaction commits, so a rollback
+ * never leaves a phantom booking behind. A reservation that takes the row lock
+ * before the committing thread has updated the index sees an older version
+ * and reloads from the database instead.
+ */
+@Component
+public class RentalAvailabilityEngine {
+
+    private final OrderTableRepository orderRepository;
+    private final ConcurrentHashMap<Integer, ItemBookings> bookings = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RentalAvailabilityEngine(OrderTableRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Reserves [start, end] for the item inside the caller's transaction, or throws
+     * {@link BookingConflictException}. Must be called with a transaction active.
+     * A transaction reserving several items must do so in ascending item id, so two
+     * of them cannot deadlock on the row locks.
+     */
+    public void reserve(OwnerItem item, LocalDate start, LocalDate end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("reserve() needs an active transaction");
+        }
+
+        Integer itemId = item.getOt_id();
+        ItemBookings index = bookings.computeIfAbsent(itemId, id -> new ItemBookings());
+        entityManager.refresh(item, LockModeType.PESSIMISTIC_WRITE);
+        Integer version = item.getVersion();
+        if (!Objects.equals(version, index.getVersion())) {
+            // first use, or another transaction or instance booked this item since we loaded it
+            index.reload(orderRepository.findBookedRanges(itemId, LocalDate.now()), version);
+        }
+
+        if (index.overlaps(start, end)) {
+            throw new BookingConflictException(itemId, start, end);
+        }
+
+        // the row is already locked; OPTIMISTIC_FORCE_INCREMENT would rank below that
+        // lock and be skipped, so the bump is issued now
+        entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        Integer booked = item.getVersion();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    index.add(start, end, booked);
+                }
+            }
+        });
+    }
+}
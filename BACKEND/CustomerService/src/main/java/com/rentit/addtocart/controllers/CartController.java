@@ -9,11 +9,16 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.rentit.addtocart.dto.AddToCartRequestDTO;
+import com.rentit.addtocart.dto.CartPageDTO;
 import com.rentit.addtocart.dto.CartResponseDTO;
 import com.rentit.addtocart.services.CartService;
+import com.rentit.addtocart.services.IdempotencyKeyMismatchException;
+import com.rentit.addtocart.services.OwnerItemNotFoundException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -39,8 +44,11 @@ public class CartController {
 //	    }
 	
 	@PostMapping("/addtocart")
-	// adds a record in the cart table 
-    public ResponseEntity<CartResponseDTO> add(@RequestBody AddToCartRequestDTO request,HttpServletRequest httpRequest) {
+	// adds a record in the cart table; safe to retry (one row per customer and item),
+	// optional Idempotency-Key header replays the first response
+    public ResponseEntity<CartResponseDTO> add(@RequestBody AddToCartRequestDTO request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
 		 Integer customerId = (Integer) httpRequest.getAttribute("userId");
 	        // Optional: validate role
 	        String role = (String) httpRequest.getAttribute("role");
@@ -48,15 +56,28 @@ public class CartController {
 		if (customerId == null || !"customer".equalsIgnoreCase(role)) {
             return ResponseEntity.status(403).build();
         }
-        CartResponseDTO cartDto =
-                serv.addToCart(customerId, request.getOwnerItemId());
-        return ResponseEntity.ok(cartDto);
+		if (request.getOwnerItemId() == null
+		        || (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 128))) {
+		    return ResponseEntity.badRequest().build();
+		}
+		try {
+	        CartResponseDTO cartDto =
+	                serv.addToCart(customerId, request.getOwnerItemId(), idempotencyKey);
+	        return ResponseEntity.ok(cartDto);
+		} catch (IdempotencyKeyMismatchException e) {
+		    return ResponseEntity.unprocessableEntity().build();
+		} catch (OwnerItemNotFoundException e) {
+		    return ResponseEntity.notFound().build();
+		}
     }
 	
 	@GetMapping("/getallcartproducts")
-	// gets all products(records) from the cart table without checking customer_id
-	public List<CartResponseDTO> getAllCartProducts() {
-	    return serv.getAllCartProducts();
+	// gets products(records) from the cart table without checking customer_id,
+	// one page at a time: ?after=<last cart_id seen>&size=50
+	public CartPageDTO getAllCartProducts(
+	        @RequestParam(required = false) Integer after,
+	        @RequestParam(defaultValue = "50") int size) {
+	    return serv.getAllCartProducts(after, size);
 	}
 	
 	@GetMapping("/getproductsbyid")
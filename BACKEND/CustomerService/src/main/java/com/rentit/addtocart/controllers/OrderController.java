@@ -5,14 +5,19 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.rentit.addtocart.dto.CheckoutRequestDTO;
 import com.rentit.addtocart.services.OrderService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/order")
 // @CrossOrigin(origins = "*")
@@ -40,6 +45,8 @@ public class OrderController {
             Map<String, Object> result = orderService.placeOrderFromCart(cartId, start, end);
             return ResponseEntity.ok(result);
             
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.ok(conflict("Order failed: the item was booked concurrently, please retry"));
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -47,4 +54,47 @@ public class OrderController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+    
+    // body: { "lines": [ { "cartId": 12, "startDate": "2026-02-01", "endDate": "2026-02-05" }, ... ] }
+    @PostMapping("/checkout")
+    public ResponseEntity<Map<String, Object>> checkout(
+        @RequestBody CheckoutRequestDTO request,
+        HttpServletRequest httpRequest
+    ) {
+        Integer customerId = (Integer) httpRequest.getAttribute("userId");
+        String role = (String) httpRequest.getAttribute("role");
+        if (customerId == null || !"customer".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        if (request == null || request.getLines() == null || request.getLines().isEmpty()) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "No cart lines to check out");
+            return ResponseEntity.badRequest().body(error);
+        }
+        if (request.getLines().size() > OrderService.MAX_CHECKOUT_LINES) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "At most " + OrderService.MAX_CHECKOUT_LINES + " lines per checkout");
+            return ResponseEntity.badRequest().body(error);
+        }
+        
+        try {
+            return ResponseEntity.ok(orderService.checkout(customerId, request.getLines()));
+        } catch (ConcurrencyFailureException e) {
+            // the whole checkout rolled back at commit, whatever the per-line results said
+            return ResponseEntity.ok(conflict("Checkout failed: an item was booked concurrently, please retry"));
+        }
+    }
+    
+    // another instance booked the same item between our version check and commit
+    // (the version check at commit failed); same shape as a BookingConflictException result
+    private static Map<String, Object> conflict(String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("conflict", true);
+        error.put("message", message);
+        return error;
+    }
 }
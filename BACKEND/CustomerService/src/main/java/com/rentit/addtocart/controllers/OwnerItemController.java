@@ -2,13 +2,17 @@ package com.rentit.addtocart.controllers;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.rentit.addtocart.dto.ProductDetailsDTO;
+import com.rentit.addtocart.dto.ProductPageDTO;
 import com.rentit.addtocart.services.OwnerItemService;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +21,8 @@ import jakarta.servlet.http.HttpServletRequest;
 //@CrossOrigin(origins = "http://localhost:3000")
 public class OwnerItemController {
 
+    private static final Logger log = LoggerFactory.getLogger(OwnerItemController.class);
+
 	@Autowired
 	OwnerItemService serv;
 	
@@ -25,7 +31,7 @@ public class OwnerItemController {
 	        Integer userId = (Integer) httpRequest.getAttribute("userId");
 	        String role = (String) httpRequest.getAttribute("role");
 	        
-	        System.out.println(userId+" : "+role);
+	        log.debug("getallproducts user {} role {}", userId, role);
 
 	        // 🔐 Only customer can view products
 	        if (userId == null || role == null || !role.equalsIgnoreCase("customer")) {
@@ -38,6 +44,22 @@ public class OwnerItemController {
 	        return ResponseEntity.ok(products);
 	    }
 	 
+	 // paged listing: ?after=<last ot_id seen>&size=20, images returned as URLs
+	 @GetMapping("/getproducts")
+	    public ResponseEntity<ProductPageDTO> getProducts(
+	            @RequestParam(required = false) Integer after,
+	            @RequestParam(defaultValue = "20") int size,
+	            HttpServletRequest httpRequest) {
+	        Integer userId = (Integer) httpRequest.getAttribute("userId");
+	        String role = (String) httpRequest.getAttribute("role");
+
+	        if (userId == null || role == null || !role.equalsIgnoreCase("customer")) {
+	            return ResponseEntity.status(403).build();
+	        }
+
+	        return ResponseEntity.ok(serv.getProductsPage(after, size));
+	    }
+	 
 	 @GetMapping("/{id}/details")
 	    public ResponseEntity<ProductDetailsDTO> getProductDetails(@PathVariable Integer id) {
 	        try {
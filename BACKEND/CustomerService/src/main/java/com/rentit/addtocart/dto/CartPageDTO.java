@@ -0,0 +1,16 @@
+package com.rentit.addtocart.dto;
+
+import java.util.List;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartPageDTO {
+    private List<CartResponseDTO> items;
+
+    // cart_id of the last row; pass back as ?after= to get the next page
+    private Integer nextCursor;
+    private boolean hasMore;
+}
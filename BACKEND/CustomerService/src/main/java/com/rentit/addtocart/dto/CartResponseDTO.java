@@ -2,12 +2,16 @@ package com.rentit.addtocart.dto;
 
 import java.time.LocalDateTime;
 
+import com.rentit.addtocart.entities.ItemStatus;
+
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class CartResponseDTO {
 
     private Integer cart_id;
@@ -34,4 +38,28 @@ public class CartResponseDTO {
     private Integer category_id;
     private String category_type;
     private String category_description;
+
+    // JPQL constructor expression in CartRepository (category fields are not mapped yet)
+    public CartResponseDTO(Integer cart_id, LocalDateTime date_time,
+                           Integer customer_id, String customer_first_name, String customer_last_name,
+                           String customer_email, Integer customer_role_id,
+                           Integer owner_item_id, Integer item_id, String brand, String description,
+                           String condition_type, Integer rent_per_day, Integer deposit_amt,
+                           ItemStatus status) {
+        this.cart_id = cart_id;
+        this.date_time = date_time;
+        this.customer_id = customer_id;
+        this.customer_first_name = customer_first_name;
+        this.customer_last_name = customer_last_name;
+        this.customer_email = customer_email;
+        this.customer_role_id = customer_role_id;
+        this.owner_item_id = owner_item_id;
+        this.item_id = item_id;
+        this.brand = brand;
+        this.description = description;
+        this.condition_type = condition_type;
+        this.rent_per_day = rent_per_day;
+        this.deposit_amt = deposit_amt;
+        this.status = status != null ? status.name() : null;
+    }
 }
@@ -0,0 +1,15 @@
+package com.rentit.addtocart.dto;
+
+import java.time.LocalDate;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CheckoutLineDTO {
+
+    private Integer cartId;       // cart.cart_id, must belong to the caller
+    private LocalDate startDate;  // "2026-02-01"
+    private LocalDate endDate;
+}
@@ -0,0 +1,13 @@
+package com.rentit.addtocart.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CheckoutRequestDTO {
+
+    private List<CheckoutLineDTO> lines;
+}
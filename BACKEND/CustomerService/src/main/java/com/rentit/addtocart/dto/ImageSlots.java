@@ -0,0 +1,11 @@
+package com.rentit.addtocart.dto;
+
+// Which img_N columns of an image row are filled, read without loading the blobs
+public interface ImageSlots {
+    Integer getOtId();
+    Boolean getImg1();
+    Boolean getImg2();
+    Boolean getImg3();
+    Boolean getImg4();
+    Boolean getImg5();
+}
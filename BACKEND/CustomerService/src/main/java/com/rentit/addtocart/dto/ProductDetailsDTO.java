@@ -1,5 +1,7 @@
 package com.rentit.addtocart.dto;
 
+import java.util.List;
+
 import lombok.*;
 
 @Data
@@ -22,4 +24,7 @@ public class ProductDetailsDTO {
     private String img3Base64;
     private String img4Base64;
     private String img5Base64;
+
+    // Image URLs (paged listing) - served by OwnerService, no inline bytes
+    private List<String> imageUrls;
 }
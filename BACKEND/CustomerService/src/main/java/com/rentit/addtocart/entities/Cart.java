@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(
+        name = "uk_cart_customer_item", columnNames = {"customer_id", "item_id"}))
 @AllArgsConstructor
 @NoArgsConstructor
 @Setter
@@ -29,6 +29,22 @@ public class Image {
     @Column(name = "img_5", length = 16777215)
     private byte[] img5;
     
+    // sha-256 in the BlobStore; img_N only holds rows not yet migrated
+    @Column(name = "img_1_hash", length = 64)
+    private String img1Hash;
+    
+    @Column(name = "img_2_hash", length = 64)
+    private String img2Hash;
+    
+    @Column(name = "img_3_hash", length = 64)
+    private String img3Hash;
+    
+    @Column(name = "img_4_hash", length = 64)
+    private String img4Hash;
+    
+    @Column(name = "img_5_hash", length = 64)
+    private String img5Hash;
+    
     @OneToOne
     @JoinColumn(name = "ot_id")
     private OwnerItem ownerItem;
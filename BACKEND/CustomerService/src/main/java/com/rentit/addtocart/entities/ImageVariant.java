@@ -0,0 +1,35 @@
+package com.rentit.addtocart.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// resized copy of a product image, written by OwnerService
+@Entity
+@Table(name = "image_variant")
+@AllArgsConstructor
+@NoArgsConstructor
+@Setter
+@Getter
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "variant_id")
+    private Integer variantId;
+
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
+    @Column(name = "variant", length = 16)
+    private String variant;
+
+    @Column(name = "variant_hash", length = 64)
+    private String variantHash;
+
+    private Integer width;
+
+    private Integer height;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+}
@@ -49,6 +49,11 @@ public class OwnerItem {
 
     private Integer max_rent_days;
 
+    // bumped by every booking (RentalAvailabilityEngine), so concurrent bookings of the
+    // same item from different instances cannot both commit
+    @Version
+    private Integer version;
+
     // One item -> many cart rows
     @OneToMany(mappedBy = "owneritem", fetch = FetchType.LAZY)
     @JsonIgnoreProperties("owneritem")     // in Cart, ignore back-reference to item
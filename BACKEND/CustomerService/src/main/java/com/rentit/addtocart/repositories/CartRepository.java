@@ -1,11 +1,15 @@
 package com.rentit.addtocart.repositories;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.rentit.addtocart.dto.CartResponseDTO;
 import com.rentit.addtocart.entities.Cart;
 
 import jakarta.transaction.Transactional;
@@ -16,6 +20,31 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
 //	List<Cart> findByCustomer_User_Id(Integer customerId);
 	 @Query("select c from Cart c where c.customer.user_id = :customerId")
 	    List<Cart> findByCustomerId(@Param("customerId") Integer customerId);
+
+	 // cart rows as DTOs straight from one joined select (no Cart/User/OwnerItem entities loaded)
+	 String CART_DTO_SELECT = "select new com.rentit.addtocart.dto.CartResponseDTO("
+	         + "c.cart_id, c.date_time, "
+	         + "cu.user_id, cu.first_name, cu.last_name, cu.email, cu.role_id, "
+	         + "oi.ot_id, oi.item_id, oi.brand, oi.description, oi.condition_type, "
+	         + "oi.rent_per_day, oi.deposit_amt, oi.status) "
+	         + "from Cart c join c.customer cu join c.owneritem oi ";
+
+	 @Query(CART_DTO_SELECT + "where cu.user_id = :customerId order by c.cart_id")
+	    List<CartResponseDTO> findDtosByCustomerId(@Param("customerId") Integer customerId);
+
+	 // one cart row, e.g. the one add-to-cart just wrote
+	 @Query(CART_DTO_SELECT + "where c.cart_id = :cartId")
+	    Optional<CartResponseDTO> findDtoById(@Param("cartId") Integer cartId);
+
+	 // keyset page over all carts, ordered by cart_id
+	 @Query(CART_DTO_SELECT + "where c.cart_id > :afterId order by c.cart_id")
+	    List<CartResponseDTO> findDtosAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+	 // checkout: the caller's cart rows with item, item owner and customer in one select
+	 @Query("select c from Cart c join fetch c.owneritem oi join fetch oi.user join fetch c.customer cu "
+	         + "where c.cart_id in :cartIds and cu.user_id = :customerId")
+	    List<Cart> findForCheckout(@Param("cartIds") Collection<Integer> cartIds,
+	                               @Param("customerId") Integer customerId);
 	 
 
 	    @Modifying
@@ -0,0 +1,45 @@
+package com.rentit.addtocart.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Add-to-cart as a single statement. The unique key on (customer_id, item_id)
+ * turns a repeat into a no-op, and LAST_INSERT_ID(cart_id) makes MySQL report
+ * the existing row's id as the generated key, so the caller gets the same
+ * cart_id whether the row was just created or already there. A missing user
+ * or item fails the foreign keys in that same statement.
+ */
+@Repository
+public class CartUpsertRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO cart (customer_id, item_id, date_time) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE cart_id = LAST_INSERT_ID(cart_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CartUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // cart_id of the (customer, item) row
+    public Integer upsert(Integer customerId, Integer ownerItemId, LocalDateTime dateTime) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPSERT, Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, customerId);
+            ps.setInt(2, ownerItemId);
+            ps.setTimestamp(3, Timestamp.valueOf(dateTime));
+            return ps;
+        }, keys);
+        return keys.getKey().intValue();
+    }
+}
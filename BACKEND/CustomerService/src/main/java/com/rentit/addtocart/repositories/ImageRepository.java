@@ -1,14 +1,33 @@
 package com.rentit.addtocart.repositories;
 
+import com.rentit.addtocart.dto.ImageSlots;
 import com.rentit.addtocart.entities.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Integer> {
     
 	 @Query("SELECT i FROM Image i WHERE i.ownerItem.ot_id = :otId")
 	    Image findByOwnerItemOtId(@Param("otId") Integer otId);
+
+	 // all images of a listing in one select (owner item and its user are join-fetched
+	 // so the EAGER @OneToOne does not load them row by row)
+	 @Query("SELECT i FROM Image i JOIN FETCH i.ownerItem o JOIN FETCH o.user WHERE o.ot_id IN :otIds")
+	    List<Image> findByOwnerItemIds(@Param("otIds") Collection<Integer> otIds);
+
+	 // one query for a whole page, only null checks on the blob columns
+	 @Query("SELECT i.ownerItem.ot_id AS otId, "
+	 		+ "CASE WHEN i.img1Hash IS NULL AND i.img1 IS NULL THEN false ELSE true END AS img1, "
+	 		+ "CASE WHEN i.img2Hash IS NULL AND i.img2 IS NULL THEN false ELSE true END AS img2, "
+	 		+ "CASE WHEN i.img3Hash IS NULL AND i.img3 IS NULL THEN false ELSE true END AS img3, "
+	 		+ "CASE WHEN i.img4Hash IS NULL AND i.img4 IS NULL THEN false ELSE true END AS img4, "
+	 		+ "CASE WHEN i.img5Hash IS NULL AND i.img5 IS NULL THEN false ELSE true END AS img5 "
+	 		+ "FROM Image i WHERE i.ownerItem.ot_id IN :otIds")
+	    List<ImageSlots> findImageSlotsByOwnerItemIds(@Param("otIds") Collection<Integer> otIds);
 }
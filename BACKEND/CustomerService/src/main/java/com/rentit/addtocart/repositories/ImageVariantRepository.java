@@ -0,0 +1,14 @@
+package com.rentit.addtocart.repositories;
+
+import com.rentit.addtocart.entities.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Integer> {
+
+    List<ImageVariant> findBySourceHashInAndVariant(Collection<String> sourceHashes, String variant);
+}
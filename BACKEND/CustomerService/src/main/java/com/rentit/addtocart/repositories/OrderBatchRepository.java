@@ -0,0 +1,104 @@
+package com.rentit.addtocart.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.rentit.addtocart.entities.DeliveryMode;
+
+/**
+ * Batched inserts for checkout. bill and order_table keep their
+ * AUTO_INCREMENT keys (BillingService inserts bills too), and Hibernate does
+ * not batch IDENTITY inserts, so these go through one JDBC batch per table.
+ * With rewriteBatchedStatements=true (persistence.properties) the MySQL driver sends each
+ * batch as a single multi-row INSERT and still returns the generated keys.
+ * Runs on the JPA transaction's connection.
+ */
+@Repository
+public class OrderBatchRepository {
+
+    private static final String INSERT_BILL =
+            "INSERT INTO bill (customer_id, owner_id, item_id, amount) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO order_table (customer_id, owner_id, owner_item_id, start_date, end_date, "
+            + "payment_status, delivery_mode) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    public record NewOrder(Integer customerId, Integer ownerId, Integer ownerItemId,
+                           LocalDate startDate, LocalDate endDate, Integer amount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // bill_no per order, in input order
+    public List<Integer> insertBills(List<NewOrder> orders) {
+        return insert(INSERT_BILL, "bill_no", orders, (ps, o) -> {
+            ps.setInt(1, o.customerId());
+            ps.setInt(2, o.ownerId());
+            ps.setInt(3, o.ownerItemId());
+            ps.setInt(4, o.amount());
+        });
+    }
+
+    // order_id per order, in input order
+    public List<Integer> insertOrders(List<NewOrder> orders) {
+        return insert(INSERT_ORDER, "order_id", orders, (ps, o) -> {
+            ps.setInt(1, o.customerId());
+            ps.setInt(2, o.ownerId());
+            ps.setInt(3, o.ownerItemId());
+            ps.setObject(4, o.startDate());
+            ps.setObject(5, o.endDate());
+            ps.setString(6, "PENDING");
+            ps.setString(7, DeliveryMode.SELF.name());
+        });
+    }
+
+    private interface RowBinder {
+        void bind(PreparedStatement ps, NewOrder order) throws SQLException;
+    }
+
+    private List<Integer> insert(String sql, String keyColumn, List<NewOrder> orders, RowBinder binder) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, orders.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return orders.size();
+                    }
+                },
+                keys);
+
+        List<Integer> ids = new ArrayList<>(orders.size());
+        for (Map<String, Object> row : keys.getKeyList()) {
+            Object id = row.containsKey(keyColumn) ? row.get(keyColumn) : row.values().iterator().next();
+            ids.add(((Number) id).intValue());
+        }
+        if (ids.size() != orders.size()) {
+            throw new IllegalStateException("Expected " + orders.size() + " generated keys, got " + ids.size());
+        }
+        return ids;
+    }
+}
@@ -1,11 +1,26 @@
 package com.rentit.addtocart.repositories;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.rentit.addtocart.availability.BookedRange;
 import com.rentit.addtocart.entities.OrderTable;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface OrderTableRepository extends JpaRepository<OrderTable, Integer> {
 
+    // rental periods of an item that have not ended yet; a locking read, so it also sees
+    // orders committed after the caller's REPEATABLE READ snapshot was taken
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT o.startDate AS startDate, o.endDate AS endDate FROM OrderTable o "
+            + "WHERE o.ownerItem.ot_id = :itemId AND o.endDate >= :from ORDER BY o.startDate")
+    List<BookedRange> findBookedRanges(@Param("itemId") Integer itemId, @Param("from") LocalDate from);
 }
@@ -1,6 +1,8 @@
 package com.rentit.addtocart.repositories;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.rentit.addtocart.entities.ItemStatus;
@@ -12,6 +14,12 @@ import java.util.List;
 public interface OwnerItemRepository extends JpaRepository<OwnerItem, Integer> {
 	
 //	public List<OwnerItem> findByStatus(ItemStatus status);
-	 @Query("SELECT o FROM OwnerItem o WHERE o.status = 'AVAILABLE'")
+	 // owner fetched in the same query; EAGER alone costs one select per distinct owner
+	 @Query("SELECT o FROM OwnerItem o JOIN FETCH o.user WHERE o.status = 'AVAILABLE'")
 	    List<OwnerItem> findAllAvailableProducts();
+
+	 // keyset page: rows after the given ot_id, owner fetched in the same query
+	 @Query("SELECT o FROM OwnerItem o JOIN FETCH o.user "
+	 		+ "WHERE o.status = 'AVAILABLE' AND o.ot_id > :afterId ORDER BY o.ot_id")
+	    List<OwnerItem> findAvailableAfter(@Param("afterId") Integer afterId, Pageable pageable);
 }
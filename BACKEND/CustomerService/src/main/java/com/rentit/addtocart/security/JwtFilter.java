@@ -3,11 +3,14 @@ package com.rentit.addtocart.security;
 import java.io.IOException;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,12 +18,22 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+
+    // null unless rentit.security.mode=trusted-gateway
+    private final GatewayIdentityVerifier identityVerifier;
+
+    public JwtFilter(GatewayIdentityVerifier identityVerifier) {
+        this.identityVerifier = identityVerifier;
+    }
+
     // ✅ PUBLIC ENDPOINTS (no JWT required)
     private static final List<String> PUBLIC_PATHS = List.of(
         "/api/login",
         "/api/register",
         "/api/categories",
-        "/api/items"
+        "/api/items",
+        "/actuator"
         // add any other public endpoints
     );
 
@@ -32,7 +45,7 @@ public class JwtFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String path = request.getRequestURI();
-        System.out.println("JWT FILTER → " + request.getMethod() + " " + path + " @ " + System.currentTimeMillis());
+        log.debug("{} {}", request.getMethod(), path);
 
         // ✅ Allow preflight
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
@@ -48,28 +61,42 @@ public class JwtFilter extends OncePerRequestFilter {
 
         // 🔐 Now protect everything else
 
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            return;
-        }
-
-        String token = authHeader.substring(7);
-
-        if (!JwtUtil.validateToken(token)) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            return;
+        Integer userId;
+        String role;
+
+        if (identityVerifier != null && identityVerifier.hasSignedHeaders(request)) {
+            // trusted-gateway mode: the gateway already verified the JWT and signed who it was
+            GatewayIdentityVerifier.Identity identity = identityVerifier.verify(request);
+            if (identity == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            userId = identity.userId();
+            role = identity.role();
+        } else {
+            String authHeader = request.getHeader("Authorization");
+
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            Claims claims = JwtUtil.parseClaims(authHeader.substring(7));
+
+            if (claims == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            userId = Integer.parseInt(claims.getSubject());
+            role = claims.get("role", String.class);
         }
 
-        Integer userId = JwtUtil.extractUserId(token);
-        String role = JwtUtil.extractRole(token);
-        System.out.println(role);
         if (role != null && role.startsWith("ROLE_")) {
             role = role.substring(5); // remove "ROLE_"
         }
 
-        System.out.println("JWT FILTER → normalized role = " + role);        
+        log.debug("user {} role {}", userId, role);
         
         
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority(role)));
@@ -81,7 +108,6 @@ public class JwtFilter extends OncePerRequestFilter {
         
         
   
-        System.out.println("filter called");
         filterChain.doFilter(request, response);
     }
 
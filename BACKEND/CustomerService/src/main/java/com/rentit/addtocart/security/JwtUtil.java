@@ -1,5 +1,6 @@
 package com.rentit.addtocart.security;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys;
@@ -12,34 +13,34 @@ public class JwtUtil {
     private static final String SECRET =
             "rentit_super_secret_key_rentit_super_secret_key";
 
-    private static Key getSigningKey() {    	
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // derived once; the parser is immutable and thread-safe
+    private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
 
-    // ✅ VALIDATE TOKEN (same logic as login-service)
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SIGNING_KEY)
+            .build();
 
-    public static boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+    // ✅ PARSE ONCE: claims of a valid token, null otherwise
 
+    public static Claims parseClaims(String token) {
+        try {
+            return PARSER.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 
+    // ✅ VALIDATE TOKEN (same logic as login-service)
+
+    public static boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
     // ✅ EXTRACT USER ID (from subject)
 
     public static Integer extractUserId(String token) {
 
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = PARSER.parseClaimsJws(token).getBody();
         return Integer.parseInt(claims.getSubject());
     }
 
@@ -47,11 +48,7 @@ public class JwtUtil {
 
     public static String extractRole(String token) {
 
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = PARSER.parseClaimsJws(token).getBody();
 
         return claims.get("role", String.class);
 
@@ -1,5 +1,6 @@
 package com.rentit.addtocart.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,15 +10,39 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.time.Duration;
 import java.util.List;
 
 
 @Configuration
 public class SecurityConfig {
 
+    // jwt: every request is verified from its bearer token.
+    // trusted-gateway: signed X-User-* headers from the gateway are accepted without
+    // parsing the JWT; requests without them still fall back to the bearer token.
+    @Value("${rentit.security.mode:jwt}")
+    private String securityMode;
+
+    @Value("${rentit.identity.secret:}")
+    private String identitySecret;
+
+    @Value("${rentit.identity.max-skew:PT30S}")
+    private Duration identityMaxSkew;
+
+    // actuator listens here, on loopback only (management.server.*)
+    @Value("${management.server.port}")
+    private int managementPort;
+
     @Bean
     public JwtFilter jwtFilter() {
-        return new JwtFilter();
+        GatewayIdentityVerifier verifier = null;
+        if ("trusted-gateway".equalsIgnoreCase(securityMode)) {
+            if (identitySecret.isBlank()) {
+                throw new IllegalStateException("rentit.identity.secret is required in trusted-gateway mode");
+            }
+            verifier = new GatewayIdentityVerifier(identitySecret, identityMaxSkew);
+        }
+        return new JwtFilter(verifier);
     }
 
     @Bean
@@ -29,7 +54,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/login", "/api/register").permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                 .requestMatchers("/getallproducts").permitAll() 
+                .requestMatchers("/getproducts").permitAll()
                 .requestMatchers("/{id}/details").permitAll()  // ✅ Product details public
                 .requestMatchers("/addtocart").hasAuthority("CUSTOMER") // 👈 CUSTOMER ONLY
                 .anyRequest().authenticated()
@@ -1,70 +1,116 @@
 package com.rentit.addtocart.services;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.rentit.addtocart.dto.CartPageDTO;
 import com.rentit.addtocart.dto.CartResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.rentit.addtocart.entities.Cart;
-import com.rentit.addtocart.entities.OwnerItem;
-import com.rentit.addtocart.entities.User;
-import com.rentit.addtocart.mappers.CartMapper;
 import com.rentit.addtocart.repositories.CartRepository;
+import com.rentit.addtocart.repositories.CartUpsertRepository;
 import com.rentit.addtocart.repositories.OwnerItemRepository;
-import com.rentit.addtocart.repositories.UserRepository;
 
 @Service
 public class CartService {
 
+    private static final Logger log = LoggerFactory.getLogger(CartService.class);
+
     @Autowired
     private CartRepository crepo;
 
     @Autowired
-    private UserRepository urepo;
+    private CartUpsertRepository upsertRepo;
 
     @Autowired
     private OwnerItemRepository otrepo;
 
-    public CartResponseDTO addToCart(Integer customerId, Integer ownerItemId) {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // "customerId:Idempotency-Key" -> response of the first request with that key
+    private final Cache<String, CartResponseDTO> idempotentResponses;
+
+    public CartService(@Value("${rentit.cart.idempotency.ttl:PT10M}") Duration ttl,
+                       @Value("${rentit.cart.idempotency.max-keys:10000}") long maxKeys) {
+        this.idempotentResponses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Idempotent on (customer, item): the unique key makes a repeat return the
+     * existing line, with its original date_time, in one write; the response is
+     * the same joined row as the cart listings. A repeated Idempotency-Key is
+     * answered from memory without touching the database, and reusing a key
+     * for a different item is rejected.
+     */
+    public CartResponseDTO addToCart(Integer customerId, Integer ownerItemId, String idempotencyKey) {
     	
-    	  System.out.println("addToCart called with customerId=" 
-    	  + customerId + ", ownerItemId=" + ownerItemId);
-    	  
-        User customer = urepo.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        log.debug("addToCart customerId={} ownerItemId={}", customerId, ownerItemId);
 
-        OwnerItem ownerItem = otrepo.findById(ownerItemId)
-                .orElseThrow(() -> new RuntimeException("Owner item not found"));
+        String cacheKey = idempotencyKey != null ? customerId + ":" + idempotencyKey : null;
+        if (cacheKey != null) {
+            CartResponseDTO previous = idempotentResponses.getIfPresent(cacheKey);
+            if (previous != null) {
+                if (!previous.getOwner_item_id().equals(ownerItemId)) {
+                    throw new IdempotencyKeyMismatchException(idempotencyKey);
+                }
+                return previous;
+            }
+        }
 
-        Cart cart = new Cart();
-        cart.setCustomer(customer);
-        cart.setOwneritem(ownerItem);
-        cart.setDate_time(LocalDateTime.now());
+        Integer cartId;
+        try {
+            cartId = upsertRepo.upsert(customerId, ownerItemId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // only a missing item is the caller's fault; look it up instead of parsing the error
+            if (!otrepo.existsById(ownerItemId)) {
+                throw new OwnerItemNotFoundException(ownerItemId, e);
+            }
+            throw e;
+        }
 
-        Cart saved = crepo.save(cart);
+        CartResponseDTO dto = crepo.findDtoById(cartId)
+                .orElseThrow(() -> new IllegalStateException("Cart row " + cartId + " vanished after upsert"));
 
-        return CartMapper.toDto(saved);
+        if (cacheKey != null) {
+            idempotentResponses.put(cacheKey, dto);
+        }
+        return dto;
     }
     
     
     
-    public List<CartResponseDTO> getAllCartProducts() {
-        List<Cart> carts = crepo.findAll();
-        return carts.stream()
-                .map(CartMapper::toDto)
-                .collect(Collectors.toList());
+    public CartPageDTO getAllCartProducts(Integer afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int cursor = afterId != null ? afterId : 0;
+
+        // fetch one extra row to know if there is a next page
+        List<CartResponseDTO> items = crepo.findDtosAfter(cursor, PageRequest.of(0, limit + 1));
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+
+        Integer nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getCart_id();
+        return new CartPageDTO(items, nextCursor, hasMore);
     }
     
     
     
     public List<CartResponseDTO> getProductsByCustomerId(Integer customerId) {
-        List<Cart> carts = crepo.findByCustomerId(customerId);
-        return carts.stream()
-                .map(CartMapper::toDto)
-                .toList();
+        return crepo.findDtosByCustomerId(customerId);
     }
     
     
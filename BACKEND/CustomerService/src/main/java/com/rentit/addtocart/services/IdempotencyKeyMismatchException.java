@@ -0,0 +1,9 @@
+package com.rentit.addtocart.services;
+
+// same Idempotency-Key sent again with a different request body; mapped to 422
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different item");
+    }
+}
@@ -1,16 +1,20 @@
 
 package com.rentit.addtocart.services;
 
+import com.rentit.addtocart.availability.BookingConflictException;
+import com.rentit.addtocart.availability.RentalAvailabilityEngine;
+import com.rentit.addtocart.dto.CheckoutLineDTO;
 import com.rentit.addtocart.entities.Bill;
 import com.rentit.addtocart.entities.Cart;
 import com.rentit.addtocart.entities.DeliveryMode;
 import com.rentit.addtocart.entities.OrderTable;
 import com.rentit.addtocart.entities.OwnerItem;
 import com.rentit.addtocart.entities.User;
-import com.rentit.addtocart.entities.ItemStatus;
 
 import com.rentit.addtocart.repositories.BillRepository;
 import com.rentit.addtocart.repositories.CartRepository;
+import com.rentit.addtocart.repositories.OrderBatchRepository;
+import com.rentit.addtocart.repositories.OrderBatchRepository.NewOrder;
 import com.rentit.addtocart.repositories.OrderTableRepository;
 import com.rentit.addtocart.repositories.UserRepository;
 
@@ -18,11 +22,19 @@ import jakarta.transaction.Transactional;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 @Service
 @Transactional
@@ -32,6 +44,10 @@ public class OrderService {
     @Autowired private OrderTableRepository orderRepo;
     @Autowired private CartRepository cartRepo;
     @Autowired private UserRepository userRepo;
+    @Autowired private RentalAvailabilityEngine availabilityEngine;
+    @Autowired private OrderBatchRepository orderBatchRepo;
+    
+    public static final int MAX_CHECKOUT_LINES = 50;
     
     public Map<String, Object> placeOrderFromCart(Integer cartId, LocalDate startDate, LocalDate endDate) {
         try {
@@ -54,6 +70,9 @@ public class OrderService {
             User owner = userRepo.findById(ownerId)
                 .orElseThrow(() -> new RuntimeException("Owner not found"));
             
+            // reserve the dates first: throws if they overlap an existing order for this item
+            availabilityEngine.reserve(ownerItem, startDate, endDate);
+            
             // 3. Calculate total amount (7 days rent + deposit)
             long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
             Integer rentAmount = (int) (ownerItem.getRent_per_day() * days);
@@ -78,9 +97,7 @@ public class OrderService {
             order.setDeliveryMode(DeliveryMode.SELF);
             OrderTable savedOrder = orderRepo.save(order);
             
-            // 6. Update item status to UNAVAILABLE
-            ownerItem.setStatus(ItemStatus.UNAVAILABLE);
-
+            // 6. Item stays AVAILABLE: other, non-overlapping periods can still be booked
             
             // 6. Delete from cart (optional)
             
@@ -99,11 +116,143 @@ public class OrderService {
             
             return response;
             
+        } catch (BookingConflictException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("conflict", true);
+            error.put("message", "Order failed: " + e.getMessage());
+            return error;
         } catch (Exception e) {
+            // nothing of a half-placed order may commit (and the reserved dates are released)
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "Order failed: " + e.getMessage());
             return error;
         }
     }
+
+    /**
+     * Places several cart lines in one transaction. Every line gets its own
+     * result; lines that fail (unknown cart, bad dates, dates already booked)
+     * are reported and skipped, the rest are committed together.
+     * One select loads the carts, one batch each inserts bills and orders,
+     * and one delete clears the placed cart rows.
+     */
+    public Map<String, Object> checkout(Integer customerId, List<CheckoutLineDTO> lines) {
+        try {
+            Map<Integer, Map<String, Object>> results = new HashMap<>();
+            Set<Integer> seen = new HashSet<>();
+            List<CheckoutLineDTO> valid = new ArrayList<>();
+            
+            for (CheckoutLineDTO line : lines) {
+                Integer cartId = line.getCartId();
+                if (cartId == null || !seen.add(cartId)) {
+                    continue; // missing or repeated cart id: only the first one counts
+                }
+                if (line.getStartDate() == null || line.getEndDate() == null) {
+                    results.put(cartId, failure(cartId, "startDate and endDate are required", false));
+                } else if (line.getStartDate().isAfter(line.getEndDate())) {
+                    results.put(cartId, failure(cartId, "Start date must be before end date", false));
+                } else {
+                    valid.add(line);
+                }
+            }
+            
+            // 1. One fetch-joined select for every cart, its item and the item's owner
+            Map<Integer, Cart> carts = valid.isEmpty()
+                    ? Map.of()
+                    : cartRepo.findForCheckout(valid.stream().map(CheckoutLineDTO::getCartId).toList(), customerId)
+                            .stream()
+                            .collect(Collectors.toMap(Cart::getCart_id, Function.identity()));
+            
+            // 2. Reserve in item id order so concurrent checkouts cannot deadlock on the row locks
+            List<CheckoutLineDTO> found = new ArrayList<>();
+            for (CheckoutLineDTO line : valid) {
+                if (carts.containsKey(line.getCartId())) {
+                    found.add(line);
+                } else {
+                    results.put(line.getCartId(), failure(line.getCartId(), "Cart item not found: " + line.getCartId(), false));
+                }
+            }
+            found.sort(Comparator.comparing(
+                    (CheckoutLineDTO line) -> carts.get(line.getCartId()).getOwneritem().getOt_id())
+                    .thenComparing(CheckoutLineDTO::getCartId));
+            
+            List<CheckoutLineDTO> reserved = new ArrayList<>();
+            List<NewOrder> newOrders = new ArrayList<>();
+            for (CheckoutLineDTO line : found) {
+                Cart cart = carts.get(line.getCartId());
+                OwnerItem ownerItem = cart.getOwneritem();
+                try {
+                    availabilityEngine.reserve(ownerItem, line.getStartDate(), line.getEndDate());
+                } catch (BookingConflictException e) {
+                    results.put(line.getCartId(), failure(line.getCartId(), "Order failed: " + e.getMessage(), true));
+                    continue;
+                }
+                
+                long days = ChronoUnit.DAYS.between(line.getStartDate(), line.getEndDate()) + 1;
+                Integer totalAmount = (int) (ownerItem.getRent_per_day() * days) + ownerItem.getDeposit_amt();
+                reserved.add(line);
+                newOrders.add(new NewOrder(customerId, ownerItem.getUser().getUser_id(), ownerItem.getOt_id(),
+                        line.getStartDate(), line.getEndDate(), totalAmount));
+            }
+            
+            // 3. Batched inserts, then one delete for the placed cart rows
+            List<Integer> billNos = orderBatchRepo.insertBills(newOrders);
+            List<Integer> orderIds = orderBatchRepo.insertOrders(newOrders);
+            if (!reserved.isEmpty()) {
+                cartRepo.deleteAllByIdInBatch(reserved.stream().map(CheckoutLineDTO::getCartId).toList());
+            }
+            
+            for (int i = 0; i < reserved.size(); i++) {
+                CheckoutLineDTO line = reserved.get(i);
+                NewOrder order = newOrders.get(i);
+                Map<String, Object> result = new HashMap<>();
+                result.put("cartId", line.getCartId());
+                result.put("success", true);
+                result.put("billNo", billNos.get(i));
+                result.put("orderId", orderIds.get(i));
+                result.put("totalAmount", order.amount());
+                result.put("days", ChronoUnit.DAYS.between(line.getStartDate(), line.getEndDate()) + 1);
+                result.put("startDate", line.getStartDate().toString());
+                result.put("endDate", line.getEndDate().toString());
+                results.put(line.getCartId(), result);
+            }
+            
+            // 4. Results in request order
+            List<Map<String, Object>> ordered = new ArrayList<>();
+            Set<Integer> reported = new HashSet<>();
+            for (CheckoutLineDTO line : lines) {
+                if (line.getCartId() != null && reported.add(line.getCartId())) {
+                    ordered.add(results.get(line.getCartId()));
+                }
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", reserved.size() == ordered.size());
+            response.put("placed", reserved.size());
+            response.put("failed", ordered.size() - reserved.size());
+            response.put("results", ordered);
+            return response;
+            
+        } catch (Exception e) {
+            // nothing of a half-written checkout may commit (and the reserved dates are released)
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "Checkout failed: " + e.getMessage());
+            return error;
+        }
+    }
+    
+    private static Map<String, Object> failure(Integer cartId, String message, boolean conflict) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("cartId", cartId);
+        result.put("success", false);
+        result.put("conflict", conflict);
+        result.put("message", message);
+        return result;
+    }
 }
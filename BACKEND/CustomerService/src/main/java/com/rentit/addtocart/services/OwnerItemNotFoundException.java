@@ -0,0 +1,9 @@
+package com.rentit.addtocart.services;
+
+// add-to-cart for an owner item that does not exist; mapped to 404
+public class OwnerItemNotFoundException extends RuntimeException {
+
+    public OwnerItemNotFoundException(Integer ownerItemId, Throwable cause) {
+        super("Owner item " + ownerItemId + " not found", cause);
+    }
+}
@@ -1,16 +1,36 @@
 package com.rentit.addtocart.services;
 
+import com.rentit.addtocart.dto.ImageSlots;
 import com.rentit.addtocart.dto.ProductDetailsDTO;
+import com.rentit.addtocart.dto.ProductPageDTO;
 import com.rentit.addtocart.entities.Image;
+import com.rentit.addtocart.entities.ImageVariant;
 import com.rentit.addtocart.entities.OwnerItem;
 import com.rentit.addtocart.repositories.ImageRepository;
+import com.rentit.addtocart.repositories.ImageVariantRepository;
 import com.rentit.addtocart.repositories.OwnerItemRepository;
+import com.rentit.addtocart.storage.BlobStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OwnerItemService {
@@ -21,53 +41,105 @@ public class OwnerItemService {
     @Autowired
     ImageRepository imageRepo;
     
+    @Autowired
+    ImageVariantRepository variantRepo;
+    
+    @Autowired
+    BlobStore blobStore;
+    
+    @Autowired
+    MeterRegistry meterRegistry;
+    
+    public static final int MAX_PAGE_SIZE = 50;
+    
+    // image URLs are relative to the gateway; OwnerService serves the bytes
+    @Value("${rentit.images.base-url:/api/products}")
+    private String imageBaseUrl;
+    
+    // OwnerService variant names: thumb / card / full
+    @Value("${rentit.images.listing-variant:card}")
+    private String listingVariant;
+    
+    @Value("${rentit.images.detail-variant:full}")
+    private String detailVariant;
+    
+    // At most three selects whatever the catalog size: items with owners, their images, the card
+    // variants (skipped when no image has a hash yet). Pinned by OwnerItemServiceQueryCountTest.
+    @Transactional(readOnly = true)
     public List<ProductDetailsDTO> getAllProducts() {
 //        return repo.findAllAvailableProducts();
     	List<OwnerItem> items = repo.findAllAvailableProducts();
         
+    	Map<Integer, Image> imagesByOtId = items.isEmpty()
+    	        ? Map.of()
+    	        : imageRepo.findByOwnerItemIds(items.stream().map(OwnerItem::getOt_id).toList())
+    	                .stream()
+    	                .collect(Collectors.toMap(i -> i.getOwnerItem().getOt_id(), Function.identity(), (a, b) -> a));
+        
     	List<ProductDetailsDTO> dtoList = new ArrayList<>();
+    	List<Image> images = new ArrayList<>();
         
         for (OwnerItem item : items) {
-            ProductDetailsDTO dto = new ProductDetailsDTO();
-            dto.setOt_id(item.getOt_id());
-            dto.setBrand(item.getBrand());
-            dto.setDescription(item.getDescription());
-            dto.setCondition_type(item.getCondition_type());
-            dto.setRent_per_day(item.getRent_per_day());
-            dto.setDeposit_amt(item.getDeposit_amt());
-            dto.setStatus(item.getStatus().name());
-            dto.setOwnerName(item.getUser() != null ? item.getUser().getFirst_name() : "N/A");
-            
-            // Fetch images for this product
-            Image image = imageRepo.findByOwnerItemOtId(item.getOt_id());
-            if (image != null) {
-                if (image.getImg1() != null) {
-                    dto.setImg1Base64(encodeImage(image.getImg1()));
-                }
-                if (image.getImg2() != null) {
-                    dto.setImg2Base64(encodeImage(image.getImg2()));
-                }
-                if (image.getImg3() != null) {
-                    dto.setImg3Base64(encodeImage(image.getImg3()));
-                }
-                if (image.getImg4() != null) {
-                    dto.setImg4Base64(encodeImage(image.getImg4()));
-                }
-                if (image.getImg5() != null) {
-                    dto.setImg5Base64(encodeImage(image.getImg5()));
-                }
+            dtoList.add(toDto(item));
+            images.add(imagesByOtId.get(item.getOt_id()));
+        }
+        
+        // the grid only needs card-sized pictures; one lookup for every image on the page
+        Map<String, String> cards = variantHashes(images, listingVariant);
+        for (int i = 0; i < dtoList.size(); i++) {
+            if (images.get(i) != null) {
+                setImages(dtoList.get(i), images.get(i), cards);
             }
-            
-            dtoList.add(dto);
         }
         
         return dtoList;
     }
     
+    // Keyset-paged listing: one query for the rows (owner joined), one for image slots.
+    // No blob is read, so page size and latency do not depend on catalog size.
+    public ProductPageDTO getProductsPage(Integer afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int cursor = afterId != null ? afterId : 0;
+        
+        // fetch one extra row to know if there is a next page
+        List<OwnerItem> items = repo.findAvailableAfter(cursor, PageRequest.of(0, limit + 1));
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items = items.subList(0, limit);
+        }
+        
+        Map<Integer, ImageSlots> slotsByOtId = items.isEmpty()
+                ? Map.of()
+                : imageRepo.findImageSlotsByOwnerItemIds(items.stream().map(OwnerItem::getOt_id).toList())
+                        .stream()
+                        .collect(Collectors.toMap(ImageSlots::getOtId, Function.identity(), (a, b) -> a));
+        
+        List<ProductDetailsDTO> dtoList = new ArrayList<>(items.size());
+        for (OwnerItem item : items) {
+            ProductDetailsDTO dto = toDto(item);
+            dto.setImageUrls(imageUrls(item.getOt_id(), slotsByOtId.get(item.getOt_id())));
+            dtoList.add(dto);
+        }
+        
+        Integer nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getOt_id();
+        return new ProductPageDTO(dtoList, nextCursor, hasMore);
+    }
+    
     public ProductDetailsDTO getProductDetails(Integer otId) {
         OwnerItem item = repo.findById(otId).orElseThrow();
         Image image = imageRepo.findByOwnerItemOtId(otId); // or @Query version
         
+        ProductDetailsDTO dto = toDto(item);
+        
+        // Images same...
+        if (image != null) {
+            setImages(dto, image, variantHashes(List.of(image), detailVariant));
+        }
+        
+        return dto;
+    }
+
+    private ProductDetailsDTO toDto(OwnerItem item) {
         ProductDetailsDTO dto = new ProductDetailsDTO();
         dto.setOt_id(item.getOt_id());
         dto.setBrand(item.getBrand());
@@ -76,33 +148,69 @@ public class OwnerItemService {
         dto.setRent_per_day(item.getRent_per_day());
         dto.setDeposit_amt(item.getDeposit_amt());
         dto.setStatus(item.getStatus().name());
-        // ✅ REMOVED: dto.setCategoryType(...)
         dto.setOwnerName(item.getUser() != null ? item.getUser().getFirst_name() : "N/A");
-        
-        // Images same...
-        if (image != null) {
-            if (image.getImg1() != null) {
-                dto.setImg1Base64(encodeImage(image.getImg1()));
-            }
-            if (image.getImg2() != null) {
-                dto.setImg2Base64(encodeImage(image.getImg2()));
-            }
-            if (image.getImg3() != null) {
-                dto.setImg3Base64(encodeImage(image.getImg3()));
+        return dto;
+    }
+    
+    private List<String> imageUrls(Integer otId, ImageSlots slots) {
+        List<String> urls = new ArrayList<>();
+        if (slots == null) {
+            return urls;
+        }
+        Boolean[] filled = { slots.getImg1(), slots.getImg2(), slots.getImg3(), slots.getImg4(), slots.getImg5() };
+        for (int i = 0; i < filled.length; i++) {
+            if (Boolean.TRUE.equals(filled[i])) {
+                urls.add(imageBaseUrl + "/" + otId + "/images/img" + (i + 1) + "?variant=" + listingVariant);
             }
-            if (image.getImg4() != null) {
-                dto.setImg4Base64(encodeImage(image.getImg4()));
+        }
+        return urls;
+    }
+    
+    // source hash -> hash of its resized copy, for the images that already have one
+    private Map<String, String> variantHashes(Collection<Image> images, String variant) {
+        Set<String> hashes = new HashSet<>();
+        for (Image image : images) {
+            if (image == null) {
+                continue;
             }
-            if (image.getImg5() != null) {
-                dto.setImg5Base64(encodeImage(image.getImg5()));
+            Stream.of(image.getImg1Hash(), image.getImg2Hash(), image.getImg3Hash(),
+                    image.getImg4Hash(), image.getImg5Hash())
+                    .filter(Objects::nonNull)
+                    .forEach(hashes::add);
+        }
+        if (hashes.isEmpty()) {
+            // not Map.of(): setImages looks up null hashes of legacy (unmigrated) images
+            return Collections.emptyMap();
+        }
+        return variantRepo.findBySourceHashInAndVariant(hashes, variant).stream()
+                .collect(Collectors.toMap(ImageVariant::getSourceHash, ImageVariant::getVariantHash, (a, b) -> a));
+    }
+    
+    // falls back to the original while the variant is still being generated
+    private void setImages(ProductDetailsDTO dto, Image image, Map<String, String> variants) {
+        dto.setImg1Base64(encodeImage(variants.getOrDefault(image.getImg1Hash(), image.getImg1Hash()), image.getImg1()));
+        dto.setImg2Base64(encodeImage(variants.getOrDefault(image.getImg2Hash(), image.getImg2Hash()), image.getImg2()));
+        dto.setImg3Base64(encodeImage(variants.getOrDefault(image.getImg3Hash(), image.getImg3Hash()), image.getImg3()));
+        dto.setImg4Base64(encodeImage(variants.getOrDefault(image.getImg4Hash(), image.getImg4Hash()), image.getImg4()));
+        dto.setImg5Base64(encodeImage(variants.getOrDefault(image.getImg5Hash(), image.getImg5Hash()), image.getImg5()));
+    }
+    
+    // hash -> bytes from the blob store, otherwise the legacy column (not migrated yet)
+    private String encodeImage(String hash, byte[] legacyBytes) {
+        byte[] imageBytes = legacyBytes;
+        if (hash != null) {
+            try {
+                imageBytes = blobStore.get(hash);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Image blob missing: " + hash, e);
             }
         }
-        
-        return dto;
+        return imageBytes == null ? null : encodeImage(imageBytes);
     }
-
     
     private String encodeImage(byte[] imageBytes) {
+        // inlined into the JSON, so it costs the same bytes as OwnerService serving it
+        meterRegistry.summary("rentit.images.served.bytes", "variant", "inline").record(imageBytes.length);
         return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(imageBytes);
     }
 }
\ No newline at end of file
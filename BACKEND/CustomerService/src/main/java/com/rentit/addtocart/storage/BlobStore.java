@@ -0,0 +1,21 @@
+package com.rentit.addtocart.storage;
+
+import java.io.IOException;
+
+/**
+ * Read side of the content-addressed image store that OwnerService writes
+ * (same rentit.blobstore.root). A blob is identified by the lowercase hex
+ * SHA-256 of its content, so the same image is stored once and the hash
+ * doubles as a strong ETag.
+ */
+public interface BlobStore {
+
+    boolean exists(String hash);
+
+    long size(String hash) throws IOException;
+
+    // first bytes of the blob, enough to sniff the content type
+    byte[] readHead(String hash, int maxBytes) throws IOException;
+
+    byte[] get(String hash) throws IOException;
+}
@@ -0,0 +1,65 @@
+package com.rentit.addtocart.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default {@link BlobStore}: reads the files OwnerService's LocalBlobStore
+ * lays out as {root}/ab/cd/abcd...(64 hex chars). Blobs are renamed into
+ * place there, so a file that exists is always complete.
+ */
+@Component
+@ConditionalOnProperty(name = "rentit.blobstore.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${rentit.blobstore.root}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return Files.isRegularFile(pathFor(hash));
+    }
+
+    @Override
+    public long size(String hash) throws IOException {
+        return Files.size(pathFor(hash));
+    }
+
+    @Override
+    public byte[] readHead(String hash, int maxBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(pathFor(hash), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(maxBytes, channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // fill the buffer
+            }
+            return buffer.array();
+        }
+    }
+
+    @Override
+    public byte[] get(String hash) throws IOException {
+        return Files.readAllBytes(pathFor(hash));
+    }
+
+    private Path pathFor(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid blob hash");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
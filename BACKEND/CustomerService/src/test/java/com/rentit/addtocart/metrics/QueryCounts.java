@@ -0,0 +1,48 @@
+package com.rentit.addtocart.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test-side view of {@link QueryCountInspector}: reset before the code under
+ * test, then pin how many statements it ran. A failing assertion lists the
+ * SQL, so an N+1 regression shows the repeated select.
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static void reset() {
+        QueryCountInspector.keepStatements(true);
+        QueryCountInspector.reset();
+    }
+
+    public static void assertSelectCount(long expected) {
+        assertCount(QueryCountInspector.Kind.SELECT, expected);
+    }
+
+    public static void assertInsertCount(long expected) {
+        assertCount(QueryCountInspector.Kind.INSERT, expected);
+    }
+
+    public static void assertUpdateCount(long expected) {
+        assertCount(QueryCountInspector.Kind.UPDATE, expected);
+    }
+
+    public static void assertDeleteCount(long expected) {
+        assertCount(QueryCountInspector.Kind.DELETE, expected);
+    }
+
+    public static void assertStatementCount(long expected) {
+        assertEquals(expected, QueryCountInspector.count(), () -> "statements run:\n" + statements());
+    }
+
+    private static void assertCount(QueryCountInspector.Kind kind, long expected) {
+        assertEquals(expected, QueryCountInspector.count(kind),
+                () -> kind.name().toLowerCase() + " count, statements run:\n" + statements());
+    }
+
+    private static String statements() {
+        return String.join("\n", QueryCountInspector.statements());
+    }
+}
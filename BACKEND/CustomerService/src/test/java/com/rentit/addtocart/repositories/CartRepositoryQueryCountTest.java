@@ -0,0 +1,81 @@
+package com.rentit.addtocart.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.rentit.addtocart.dto.CartResponseDTO;
+import com.rentit.addtocart.entities.Cart;
+import com.rentit.addtocart.entities.ItemStatus;
+import com.rentit.addtocart.entities.OwnerItem;
+import com.rentit.addtocart.entities.User;
+import com.rentit.addtocart.metrics.MetricsConfig;
+import com.rentit.addtocart.metrics.QueryCounts;
+
+// the cart listing replaced CartMapper.toDto over entities; it has to stay one select
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true"
+})
+@Import(MetricsConfig.class)
+class CartRepositoryQueryCountTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void cartListingIsOneSelect() {
+        User customer = user("customer");
+        for (int i = 0; i < 5; i++) {
+            OwnerItem item = new OwnerItem();
+            item.setUser(user("owner" + i));
+            item.setBrand("brand" + i);
+            item.setStatus(ItemStatus.AVAILABLE);
+            em.persist(item);
+            em.persist(new Cart(null, customer, item, LocalDateTime.now()));
+        }
+        em.flush();
+        em.clear();
+
+        QueryCounts.reset();
+        List<CartResponseDTO> rows = cartRepository.findDtosByCustomerId(customer.getUser_id());
+
+        assertEquals(5, rows.size());
+        QueryCounts.assertSelectCount(1);
+    }
+
+    @Test
+    void addedRowIsOneSelect() {
+        OwnerItem item = new OwnerItem();
+        item.setUser(user("owner"));
+        item.setBrand("brand");
+        item.setStatus(ItemStatus.AVAILABLE);
+        em.persist(item);
+        Cart cart = em.persist(new Cart(null, user("customer"), item, LocalDateTime.now()));
+        em.flush();
+        em.clear();
+
+        QueryCounts.reset();
+        CartResponseDTO row = cartRepository.findDtoById(cart.getCart_id()).orElseThrow();
+
+        assertEquals("brand", row.getBrand());
+        QueryCounts.assertSelectCount(1);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirst_name(name);
+        user.setEmail(name + "@example.com");
+        return em.persist(user);
+    }
+}
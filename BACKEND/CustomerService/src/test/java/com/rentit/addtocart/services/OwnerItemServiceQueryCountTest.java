@@ -0,0 +1,98 @@
+package com.rentit.addtocart.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.rentit.addtocart.dto.ProductDetailsDTO;
+import com.rentit.addtocart.entities.Image;
+import com.rentit.addtocart.entities.ItemStatus;
+import com.rentit.addtocart.entities.OwnerItem;
+import com.rentit.addtocart.entities.User;
+import com.rentit.addtocart.metrics.MetricsConfig;
+import com.rentit.addtocart.metrics.QueryCounts;
+import com.rentit.addtocart.storage.BlobStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true"
+})
+@Import({ MetricsConfig.class, OwnerItemService.class, OwnerItemServiceQueryCountTest.Meters.class })
+class OwnerItemServiceQueryCountTest {
+
+    @TestConfiguration
+    static class Meters {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private OwnerItemService service;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @MockitoBean
+    private BlobStore blobStore;
+
+    @Test
+    void getAllProductsRunsTheSameSelectsForAnyCatalogSize() {
+        seed(1);
+        QueryCounts.reset();
+        assertEquals(1, service.getAllProducts().size());
+        QueryCounts.assertSelectCount(2);
+
+        seed(6);
+        QueryCounts.reset();
+        List<ProductDetailsDTO> products = service.getAllProducts();
+        assertEquals(7, products.size());
+        assertEquals("data:image/jpeg;base64,AQI=", products.get(6).getImg1Base64());
+        QueryCounts.assertSelectCount(2);
+    }
+
+    @Test
+    void emptyCatalogRunsOneSelect() {
+        QueryCounts.reset();
+        service.getAllProducts();
+        QueryCounts.assertSelectCount(1);
+    }
+
+    // one owner per item, so an unfetched EAGER owner would also show up as extra selects
+    private void seed(int items) {
+        for (int i = 0; i < items; i++) {
+            User owner = new User();
+            owner.setFirst_name("owner" + i);
+            owner.setEmail("owner" + i + "@example.com");
+            em.persist(owner);
+
+            OwnerItem item = new OwnerItem();
+            item.setUser(owner);
+            item.setBrand("brand" + i);
+            item.setRent_per_day(100);
+            item.setDeposit_amt(500);
+            item.setStatus(ItemStatus.AVAILABLE);
+            em.persist(item);
+
+            Image image = new Image();
+            image.setOwnerItem(item);
+            image.setImg1(new byte[] { 1, 2 });
+            em.persist(image);
+        }
+        em.flush();
+        em.clear();
+    }
+}
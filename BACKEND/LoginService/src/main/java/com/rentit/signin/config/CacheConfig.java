@@ -0,0 +1,26 @@
+package com.rentit.signin.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+// Caffeine caches for the registration dropdowns; limits and TTL in spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String STATES = "states";
+    public static final String CITIES_BY_STATE = "citiesByState";
+    public static final String ROLES = "roles";
+
+    // lets the browser revalidate /states, /cities/{id} and /getallroles with If-None-Match
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/states", "/cities/*", "/getallroles");
+        return registration;
+    }
+}
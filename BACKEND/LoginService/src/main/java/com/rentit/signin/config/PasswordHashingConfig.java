@@ -0,0 +1,33 @@
+package com.rentit.signin.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    // BCrypt is pure CPU, so more threads than cores only adds contention. Keeping it
+    // off the Tomcat pool means a login burst queues here while /states, /cities and
+    // registration lookups keep their request threads. A full queue rejects at once
+    // (AbortPolicy) and the caller answers 503 instead of waiting.
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${rentit.login.hash.threads:0}") int threads,
+            @Value("${rentit.login.hash.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(CorrelationIdFilter.mdcPropagating());
+        executor.initialize();
+        return executor;
+    }
+}
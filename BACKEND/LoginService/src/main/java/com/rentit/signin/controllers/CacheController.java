@@ -0,0 +1,59 @@
+package com.rentit.signin.controllers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rentit.signin.services.LocationService;
+import com.rentit.signin.services.RoleService;
+
+@RestController
+@RequestMapping("/api/cache/login-reference")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Autowired
+    private RoleService roleService;
+
+    // hit/miss counters per cache
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> map = new HashMap<>();
+            map.put("size", caffeineCache.getNativeCache().estimatedSize());
+            map.put("hits", stats.hitCount());
+            map.put("misses", stats.missCount());
+            map.put("hitRate", stats.hitRate());
+            map.put("evictions", stats.evictionCount());
+            response.put(name, map);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // ADMIN only (SecurityConfig)
+    @DeleteMapping
+    public ResponseEntity<?> evict() {
+        locationService.evictAll();
+        roleService.evictAll();
+
+        return ResponseEntity.ok(Map.of("message", "Reference data cache cleared"));
+    }
+}
@@ -4,16 +4,16 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import com.rentit.signin.entities.City;
-import com.rentit.signin.repositories.CityRepository;
+import com.rentit.signin.services.LocationService;
 
 @RestController
 public class CityController {
     
     @Autowired
-    CityRepository cityRepo;
+    LocationService locationService;
     
     @GetMapping("/cities/{stateId}")
     public List<City> getCitiesByState(@PathVariable Integer stateId) {
-        return cityRepo.findByState_StateId(Long.valueOf(stateId));
+        return locationService.getCitiesByState(stateId);
     }
 }
\ No newline at end of file
@@ -1,17 +1,28 @@
 package com.rentit.signin.controllers;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.rentit.signin.dto.LoginProjection;
+import com.rentit.signin.dto.LoginResponse;
+import com.rentit.signin.dto.TokenPair;
+import com.rentit.signin.dto.UserPage;
 import com.rentit.signin.entities.User;
 import com.rentit.signin.enums.AccountStatus;
 import com.rentit.signin.services.LoginService;
-import com.rentit.signin.security.JwtUtil;
+import com.rentit.signin.services.TokenService;
+import com.rentit.signin.security.LoginOverloadedException;
+import com.rentit.signin.security.LoginThrottle;
+import com.rentit.signin.security.LoginThrottledException;
+import com.rentit.signin.security.PasswordHasher;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -22,18 +33,30 @@ import com.rentit.signin.security.JwtUtil;
 // )
 public class LoginController {
 
+    private static final Logger log = LoggerFactory.getLogger(LoginController.class);
+
     @Autowired
     private LoginService loginService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody User user) {
+    public ResponseEntity<?> login(@RequestBody User user, HttpServletRequest request) {
 
         try {
-            System.out.println("Login attempt for: " + user.getEmail());
+            log.debug("Login attempt for {}", user.getEmail());
 
-            User dbuser = loginService.login(
+            LoginProjection dbuser = loginService.login(
                     user.getEmail(),
-                    user.getPassword()
+                    user.getPassword(),
+                    clientIp(request)
             );
 
             // ❌ Invalid credentials
@@ -49,34 +72,59 @@ public class LoginController {
                         .body(Map.of("message", "Account inactive"));
             }
 
-            // ✅ Generate JWT
-            String token = JwtUtil.generateToken(
-                    dbuser.getUserId(),
-                    dbuser.getRole().getRoleName()
-            );
- 
-            // ❌ NEVER send password
-            dbuser.setPassword(null);
+            // ✅ Short-lived JWT plus a rotating refresh token
+            TokenPair tokens = tokenService.issue(dbuser.getUserId(), dbuser.getRoleName());
 
-            // ✅ Final response
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
-            response.put("user", dbuser);
+            // ✅ Final response (built from the projection, so no password or entity graph)
+            LoginResponse response = new LoginResponse(tokens, dbuser);
 
-            System.out.println("Login successful for: " + dbuser.getEmail());
+            log.info("Login successful for user {}", dbuser.getUserId());
 
             return ResponseEntity.ok(response);
 
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
+        } catch (LoginOverloadedException e) {
+            return ResponseEntity.status(503)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Login failed", e);
             return ResponseEntity.status(500)
                     .body(Map.of("message", "Internal server error"));
         }
     }
 
 
+    // hashing pool latency and queue depth, plus how many throttle windows are open (ADMIN only, SecurityConfig)
+    @GetMapping("/login/stats")
+    public ResponseEntity<?> loginStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("hashing", passwordHasher.stats());
+        response.put("throttledAccounts", loginThrottle.trackedAccounts());
+        response.put("throttledIps", loginThrottle.trackedIps());
+        return ResponseEntity.ok(response);
+    }
+
+    // paged user listing for admins (SecurityConfig): ?after=<last user_id seen>&size=50
     @GetMapping("/all")
-    public List<User> getAll() {
-        return loginService.getAll();
+    public ResponseEntity<?> getAll(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(defaultValue = "50") int size) {
+        UserPage page = loginService.getUsers(after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // behind the gateway the caller is the last X-Forwarded-For hop (appended by the
+    // gateway itself); earlier entries come from the client and can be forged
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            String[] hops = forwarded.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
     }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.rentit.signin.controllers;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.rentit.signin.dto.RegisterRequest;
 import com.rentit.signin.entities.User;
+import com.rentit.signin.security.LoginOverloadedException;
 import com.rentit.signin.services.UserService;
 
 import java.util.Map;
@@ -15,6 +18,8 @@ import java.util.Map;
 @RequestMapping("/api")
 public class RegisterController {
 
+    private static final Logger log = LoggerFactory.getLogger(RegisterController.class);
+
     @Autowired
     private UserService userService;
 
@@ -22,11 +27,14 @@ public class RegisterController {
     public ResponseEntity<?> registerUser(@RequestBody RegisterRequest request) {
 
         try {
-        	System.out.println("REGISTER REQUEST = " + request);
             User savedUser = userService.registerUser(request);
             savedUser.setPassword(null); // extra safety
             return ResponseEntity.ok(savedUser);
 
+        } catch (LoginOverloadedException e) {
+            return ResponseEntity.status(503)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", e.getMessage()));
@@ -4,16 +4,16 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import com.rentit.signin.entities.State;
-import com.rentit.signin.repositories.StateRepository;
+import com.rentit.signin.services.LocationService;
 
 @RestController
 public class StateController {
     
     @Autowired
-    StateRepository stateRepo;
+    LocationService locationService;
     
     @GetMapping("/states")
     public List<State> getAllStates() {
-        return stateRepo.findAll();
+        return locationService.getAllStates();
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.rentit.signin.controllers;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.rentit.signin.dto.TokenPair;
+import com.rentit.signin.security.InvalidRefreshTokenException;
+import com.rentit.signin.security.JwtUtil;
+import com.rentit.signin.services.RevocationService;
+import com.rentit.signin.services.TokenService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+@RestController
+@RequestMapping("/api")
+public class TokenController {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RevocationService revocationService;
+
+    // body: { "refreshToken": "..." } -> new access token and a new refresh token
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        try {
+            TokenPair tokens = tokenService.refresh(body.get("refreshToken"));
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.getAccessToken(),
+                    "refreshToken", tokens.getRefreshToken(),
+                    "expiresIn", tokens.getExpiresIn()));
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(401).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // revokes the refresh token family and, when a bearer token is sent, that access token too
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestBody(required = false) Map<String, String> body,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        String jti = null;
+        Date expiresAt = null;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = JwtUtil.parseClaims(authHeader.substring(7));
+                jti = claims.getId();
+                expiresAt = claims.getExpiration();
+            } catch (JwtException | IllegalArgumentException e) {
+                // expired or invalid access token: nothing to revoke
+            }
+        }
+
+        tokenService.logout(body != null ? body.get("refreshToken") : null, jti, expiresAt);
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+
+    // Bloom filter of revoked access-token ids, polled by the API gateway
+    @GetMapping("/token/revocations")
+    public Map<String, Object> revocations() {
+        return revocationService.getSnapshot();
+    }
+}
@@ -0,0 +1,53 @@
+package com.rentit.signin.dto;
+
+// What login needs from the user row, read in one query joined to role.
+// Carries the password hash, so it never leaves the service layer.
+public class LoginProjection {
+
+    private final Integer userId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String passwordHash;
+    private final Integer status;
+    private final String roleName;
+
+    public LoginProjection(Integer userId, String firstName, String lastName, String email,
+                           String passwordHash, Integer status, String roleName) {
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.status = status;
+        this.roleName = roleName;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+}
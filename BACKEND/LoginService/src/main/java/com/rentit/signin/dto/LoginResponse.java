@@ -0,0 +1,78 @@
+package com.rentit.signin.dto;
+
+// Body of POST /api/login. "user.role" is the role name as a plain string,
+// which the frontend already accepts alongside the old nested role object.
+public class LoginResponse {
+
+    private String token;
+    private String refreshToken;
+    private long expiresIn;
+    private UserInfo user;
+
+    public LoginResponse(TokenPair tokens, LoginProjection login) {
+        this.token = tokens.getAccessToken();
+        this.refreshToken = tokens.getRefreshToken();
+        this.expiresIn = tokens.getExpiresIn();
+        this.user = new UserInfo(login);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    // access token lifetime in seconds; refresh before it runs out
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public UserInfo getUser() {
+        return user;
+    }
+
+    public static class UserInfo {
+
+        private Integer userId;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String role;
+        private Integer status;
+
+        UserInfo(LoginProjection login) {
+            this.userId = login.getUserId();
+            this.firstName = login.getFirstName();
+            this.lastName = login.getLastName();
+            this.email = login.getEmail();
+            this.role = login.getRoleName();
+            this.status = login.getStatus();
+        }
+
+        public Integer getUserId() {
+            return userId;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public Integer getStatus() {
+            return status;
+        }
+    }
+}
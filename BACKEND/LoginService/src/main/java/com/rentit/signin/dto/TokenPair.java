@@ -0,0 +1,29 @@
+package com.rentit.signin.dto;
+
+// access token (JWT) plus the opaque refresh token issued with it
+public class TokenPair {
+
+    private final String accessToken;
+    private final String refreshToken;
+
+    // access token lifetime in seconds
+    private final long expiresIn;
+
+    public TokenPair(String accessToken, String refreshToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+}
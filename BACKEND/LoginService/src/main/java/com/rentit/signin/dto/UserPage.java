@@ -0,0 +1,30 @@
+package com.rentit.signin.dto;
+
+import java.util.List;
+
+public class UserPage {
+
+    private final List<UserSummary> users;
+
+    // user_id of the last row; pass back as ?after= to get the next page
+    private final Integer nextCursor;
+    private final boolean hasMore;
+
+    public UserPage(List<UserSummary> users, Integer nextCursor, boolean hasMore) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<UserSummary> getUsers() {
+        return users;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,60 @@
+package com.rentit.signin.dto;
+
+import java.time.LocalDateTime;
+
+// one row of GET /api/all; no password, no state/city graph
+public class UserSummary {
+
+    private final Integer userId;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final Long phoneNo;
+    private final Integer status;
+    private final String roleName;
+    private final LocalDateTime dateTime;
+
+    public UserSummary(Integer userId, String firstName, String lastName, String email,
+                       Long phoneNo, Integer status, String roleName, LocalDateTime dateTime) {
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNo = phoneNo;
+        this.status = status;
+        this.roleName = roleName;
+        this.dateTime = dateTime;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Long getPhoneNo() {
+        return phoneNo;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+}
@@ -0,0 +1,87 @@
+package com.rentit.signin.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, by
+ * kind. QueryMetricsFilter resets it at the start of each request and
+ * records the total per endpoint, so an N+1 shows up as a statement count
+ * that grows with the page size; tests pin the expected counts through
+ * the same counters. Plain JdbcTemplate statements are not seen here.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    // tests switch this on to get the statements in assertion messages
+    private static volatile boolean keepStatements;
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get().record(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        COUNTS.get().clear();
+    }
+
+    public static long count() {
+        return COUNTS.get().total;
+    }
+
+    public static long count(Kind kind) {
+        return COUNTS.get().byKind[kind.ordinal()];
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(COUNTS.get().statements);
+    }
+
+    public static void keepStatements(boolean keep) {
+        keepStatements = keep;
+    }
+
+    private static final class Counts {
+
+        private final long[] byKind = new long[Kind.values().length];
+        private final List<String> statements = new ArrayList<>();
+        private long total;
+
+        void record(String sql) {
+            total++;
+            byKind[kindOf(sql).ordinal()]++;
+            if (keepStatements) {
+                statements.add(sql);
+            }
+        }
+
+        void clear() {
+            total = 0;
+            Arrays.fill(byKind, 0);
+            statements.clear();
+        }
+
+        private static Kind kindOf(String sql) {
+            String head = sql.stripLeading();
+            int end = 0;
+            while (end < head.length() && Character.isLetter(head.charAt(end))) {
+                end++;
+            }
+            return switch (head.substring(0, end).toLowerCase(Locale.ROOT)) {
+                case "select", "with" -> Kind.SELECT;
+                case "insert" -> Kind.INSERT;
+                case "update" -> Kind.UPDATE;
+                case "delete" -> Kind.DELETE;
+                default -> Kind.OTHER;
+            };
+        }
+    }
+}
@@ -11,6 +11,10 @@ public interface CityRepository extends JpaRepository<City, Integer> {
     // Used for: /cities/{stateId}
     List<City> findByState_StateId(Long stateId);
     
+    // state fetched with the cities so cached results serialize outside a session
+    @Query("SELECT c FROM City c JOIN FETCH c.state s WHERE s.stateId = :stateId")
+    List<City> findWithStateByStateId(@Param("stateId") Integer stateId);
+    
     // Alternative query method
     @Query("SELECT c FROM City c WHERE c.state.stateId = :stateId")
     List<City> findByStateId(@Param("stateId") Integer stateId);
@@ -1,6 +1,16 @@
 package com.rentit.signin.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rentit.signin.dto.LoginProjection;
+import com.rentit.signin.dto.UserSummary;
 import com.rentit.signin.entities.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
@@ -8,4 +18,40 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     User findByEmail(String email);
     boolean existsByEmail(String email);
 
+    // single select joined to role; no entity, no state/city proxies
+    @Query("""
+        SELECT new com.rentit.signin.dto.LoginProjection(
+            u.userId, u.firstName, u.lastName, u.email, u.password, u.status, r.roleName)
+        FROM User u LEFT JOIN u.role r
+        WHERE u.email = :email
+        """)
+    LoginProjection findLoginByEmail(@Param("email") String email);
+
+    // same projection for refresh, which knows the user id but not the email
+    @Query("""
+        SELECT new com.rentit.signin.dto.LoginProjection(
+            u.userId, u.firstName, u.lastName, u.email, u.password, u.status, r.roleName)
+        FROM User u LEFT JOIN u.role r
+        WHERE u.userId = :userId
+        """)
+    LoginProjection findLoginById(@Param("userId") Integer userId);
+
+    // keyset page ordered by user_id
+    @Query("""
+        SELECT new com.rentit.signin.dto.UserSummary(
+            u.userId, u.firstName, u.lastName, u.email, u.phoneNo, u.status, r.roleName, u.dateTime)
+        FROM User u LEFT JOIN u.role r
+        WHERE u.userId > :afterId
+        ORDER BY u.userId
+        """)
+    List<UserSummary> findSummariesAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // compare-and-set: a password changed since the login was read is left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :oldHash")
+    int replacePasswordHash(@Param("userId") Integer userId,
+                            @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
+
 }
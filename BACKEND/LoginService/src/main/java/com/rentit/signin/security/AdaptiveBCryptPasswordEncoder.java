@@ -0,0 +1,76 @@
+package com.rentit.signin.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is chosen per deployment. New hashes use the
+ * target cost; existing hashes are verified with whatever cost they carry
+ * (it is part of the "$2a$NN$" header), and {@link #upgradeEncoding} flags
+ * any hash below the target cost so it can be rewritten on the next login.
+ * Hashes above it are left alone: each host calibrates its own target, and
+ * rewriting in both directions would bounce a hash between hosts' costs and
+ * let faster hosts weaken it.
+ *
+ * Hashes stay in plain modular-crypt form with no "{id}" prefix because
+ * AdminService verifies the same column with BCrypt.Net.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_HEADER = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    private final int targetCost;
+    private final BCryptPasswordEncoder encoder;
+
+    // verification only reads the cost from the hash, but matches() lives on an instance
+    private final Map<Integer, BCryptPasswordEncoder> verifiers = new ConcurrentHashMap<>();
+
+    public AdaptiveBCryptPasswordEncoder(int targetCost) {
+        this.targetCost = targetCost;
+        this.encoder = new BCryptPasswordEncoder(targetCost);
+        this.verifiers.put(targetCost, encoder);
+    }
+
+    public int getTargetCost() {
+        return targetCost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        if (cost < 0) {
+            return false;
+        }
+        return verifiers.computeIfAbsent(cost, BCryptPasswordEncoder::new)
+                .matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost >= 0 && cost < targetCost;
+    }
+
+    // -1 when the value is not a BCrypt hash
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_HEADER.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return -1;
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return cost >= 4 && cost <= 31 ? cost : -1;
+    }
+}
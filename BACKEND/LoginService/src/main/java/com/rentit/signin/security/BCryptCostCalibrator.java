@@ -0,0 +1,58 @@
+package com.rentit.signin.security;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Times BCrypt on this host at startup and picks the highest cost whose
+ * estimated hash time fits the latency budget. Each cost step doubles the
+ * work, so one cheap probe cost is enough to extrapolate the rest.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final int PROBE_COST = 8;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int chooseCost(long budgetMillis, int minCost, int maxCost) {
+        double probeMillis = measureMillis(PROBE_COST);
+
+        int cost = minCost;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            double estimate = probeMillis * Math.pow(2, candidate - PROBE_COST);
+            if (estimate > budgetMillis) {
+                break;
+            }
+            cost = candidate;
+        }
+
+        log.info("BCrypt calibration: cost {} took {} ms, using cost {} (~{} ms, budget {} ms)",
+                PROBE_COST, String.format("%.1f", probeMillis), cost,
+                String.format("%.0f", probeMillis * Math.pow(2, cost - PROBE_COST)), budgetMillis);
+        return cost;
+    }
+
+    // median of a few rounds after warm-up, so JIT and a noisy neighbour do not skew it
+    static double measureMillis(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            encoder.encode("calibration-" + i);
+        }
+        long[] samples = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ROUNDS / 2] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package com.rentit.signin.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * Fixed-size Bloom filter over strings, used to publish revoked token ids.
+ * Positions come from SHA-256 of the value split into two 64-bit halves
+ * (double hashing), so any JVM holding the same bits answers identically.
+ * The gateway has a copy of this class; BloomFilterTest in both modules pins
+ * them to the same encoding.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final int numBits;
+    private final int numHashes;
+
+    public BloomFilter(int numBits, int numHashes) {
+        this(new long[(numBits + 63) / 64], numBits, numHashes);
+    }
+
+    public BloomFilter(long[] bits, int numBits, int numHashes) {
+        if (numBits <= 0 || numHashes <= 0 || bits.length != (numBits + 63) / 64) {
+            throw new IllegalArgumentException("Invalid bloom filter shape");
+        }
+        this.bits = bits;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Sized for at least {@code minCapacity} entries so the published size does
+     * not change with every revocation.
+     */
+    public static BloomFilter of(Collection<String> values, int minCapacity, double falsePositiveRate) {
+        int capacity = Math.max(values.size(), Math.max(1, minCapacity));
+        double ln2 = Math.log(2);
+        int numBits = (int) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * ln2));
+
+        BloomFilter filter = new BloomFilter(numBits, numHashes);
+        for (String value : values) {
+            filter.add(value);
+        }
+        return filter;
+    }
+
+    public void add(String value) {
+        long[] h = hash(value);
+        for (int i = 0; i < numHashes; i++) {
+            int index = index(h, i);
+            bits[index >>> 6] |= 1L << (index & 63);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] h = hash(value);
+        for (int i = 0; i < numHashes; i++) {
+            int index = index(h, i);
+            if ((bits[index >>> 6] & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNumBits() {
+        return numBits;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes, int numBits, int numHashes) {
+        if (bytes.length % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Invalid bloom filter length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] words = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new BloomFilter(words, numBits, numHashes);
+    }
+
+    private int index(long[] h, int i) {
+        return (int) Math.floorMod(h[0] + i * h[1], (long) numBits);
+    }
+
+    private static long[] hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new long[] { buffer.getLong(), buffer.getLong() };
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
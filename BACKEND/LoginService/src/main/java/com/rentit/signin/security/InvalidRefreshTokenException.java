@@ -0,0 +1,9 @@
+package com.rentit.signin.security;
+
+// unknown, expired, revoked or reused refresh token; mapped to 401
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
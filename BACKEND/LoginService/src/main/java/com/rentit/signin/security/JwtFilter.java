@@ -0,0 +1,56 @@
+package com.rentit.signin.security;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates a request that carries a valid Bearer access token, with the
+ * token's role as ROLE_&lt;role&gt; so SecurityConfig can use hasRole(...).
+ * Most endpoints here are public (login, register, refresh), so a missing or
+ * invalid token is not rejected here; the request just stays anonymous and
+ * the authorization rules decide.
+ */
+public class JwtFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String authHeader = request.getHeader("Authorization");
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = JwtUtil.parseClaims(authHeader.substring(7));
+                String role = claims.get("role", String.class);
+                if (role != null) {
+                    if (role.startsWith("ROLE_")) {
+                        role = role.substring(5);
+                    }
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            Integer.valueOf(claims.getSubject()), null,
+                            List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // invalid or expired: leave the request unauthenticated
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -5,32 +5,44 @@ import io.jsonwebtoken.security.Keys;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 public class JwtUtil {
 
     private static final String SECRET =
             "rentit_super_secret_key_rentit_super_secret_key";
 
-    private static final long EXPIRATION_TIME = 24 * 60 * 60 * 1000; // 24 hours
+    // access tokens are short-lived; sessions continue through refresh tokens (TokenService)
+    public static final long EXPIRATION_TIME = 15 * 60 * 1000; // 15 minutes
 
-    private static Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // key and parser are thread-safe, build them once instead of per call
+    private static final Key KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(KEY)
+            .build();
 
     // ✅ CREATE TOKEN
     public static String generateToken(int userId, String role) {
+        return generateToken(userId, role, UUID.randomUUID().toString(),
+                new Date(System.currentTimeMillis() + EXPIRATION_TIME));
+    }
+
+    // jti identifies the token for revocation (see RevocationService)
+    public static String generateToken(int userId, String role, String jti, Date expiresAt) {
 
         return Jwts.builder()
+                .setId(jti)
                 .setSubject(String.valueOf(userId))
 //                .claim("http://schemas.microsoft.com/ws/2008/06/identity/claims/role", role)
                 .claim("role", role)	
                 .setIssuedAt(new Date())
-                .setExpiration(
-                        new Date(System.currentTimeMillis() + EXPIRATION_TIME)
-                )
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(expiresAt)
+                .signWith(KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-
+    // throws JwtException if the token is invalid or expired
+    public static Claims parseClaims(String token) {
+        return PARSER.parseClaimsJws(token).getBody();
+    }
 }
@@ -0,0 +1,16 @@
+package com.rentit.signin.security;
+
+// password hashing pool is saturated; mapped to 503 + Retry-After
+public class LoginOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
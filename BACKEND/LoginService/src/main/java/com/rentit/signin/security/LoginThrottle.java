@@ -0,0 +1,105 @@
+package com.rentit.signin.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Fixed-window attempt counters per client address and per email from that
+ * address. Checked before the user lookup and before any hashing, so a
+ * credential-stuffing burst is turned away with a map lookup instead of a
+ * BCrypt round. Counters live in bounded Caffeine caches and disappear when
+ * their window ends.
+ * <p>
+ * The account counter is keyed on email plus address, so someone hammering a
+ * victim's email only locks out their own address, never the victim. The
+ * tradeoff: guesses against one account spread over many addresses are only
+ * bounded by the per-address limit on each of them.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int maxPerEmail;
+    private final int maxPerIp;
+    private final long windowMillis;
+
+    private final Cache<String, Window> accountWindows;
+    private final Cache<String, Window> ipWindows;
+
+    public LoginThrottle(@Value("${rentit.login.throttle.max-per-email:5}") int maxPerEmail,
+                         @Value("${rentit.login.throttle.max-per-ip:30}") int maxPerIp,
+                         @Value("${rentit.login.throttle.window:PT1M}") Duration window,
+                         @Value("${rentit.login.throttle.max-tracked:100000}") long maxTracked) {
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerIp = maxPerIp;
+        this.windowMillis = window.toMillis();
+        this.accountWindows = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(window)
+                .build();
+        this.ipWindows = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Counts one attempt against the address, then against the email from
+     * that address; an attempt refused on the address is not counted for the email.
+     *
+     * @throws LoginThrottledException if either key is over its limit
+     */
+    public void acquire(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null) {
+            check(ipWindows, clientIp, maxPerIp, now, "Too many login attempts from this address");
+        }
+        if (email != null) {
+            check(accountWindows, accountKey(email, clientIp), maxPerEmail, now,
+                    "Too many login attempts for this account");
+        }
+    }
+
+    // a successful login clears the account counter, so a user who mistyped once is not penalised
+    public void reset(String email, String clientIp) {
+        if (email != null) {
+            accountWindows.invalidate(accountKey(email, clientIp));
+        }
+    }
+
+    public long trackedAccounts() {
+        return accountWindows.estimatedSize();
+    }
+
+    public long trackedIps() {
+        return ipWindows.estimatedSize();
+    }
+
+    private void check(Cache<String, Window> windows, String key, int max, long now, String message) {
+        Window window = windows.get(key, k -> new Window(now));
+        if (window.attempts.incrementAndGet() > max) {
+            long retryAfter = Math.max(1, (window.start + windowMillis - now + 999) / 1000);
+            throw new LoginThrottledException(message, retryAfter);
+        }
+    }
+
+    private static String accountKey(String email, String clientIp) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        return clientIp == null ? normalized : normalized + '|' + clientIp;
+    }
+
+    private static final class Window {
+        final long start;
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.rentit.signin.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs {@link PasswordEncoder} calls on the bounded "passwordHashExecutor"
+ * pool. The calling request thread waits for the result, but only while the
+ * task fits in the queue: once the pool and queue are full the call fails at
+ * once with {@link LoginOverloadedException}, which caps how many servlet
+ * threads a login burst can hold.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder rehashed = new LongAdder();
+
+    // same numbers for Prometheus; the pool itself shows up as executor.*{name=passwordHashExecutor}
+    private final Timer hashTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+    private final Counter timedOutCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${rentit.login.hash.timeout:PT5S}") Duration timeout,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+        this.hashTimer = Timer.builder("rentit.password.hash")
+                .description("BCrypt time on the hashing pool")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("rentit.password.hash.wait")
+                .description("Time queued before a hashing thread picked the task up")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("rentit.password.hash.refused", "reason", "queue_full");
+        this.timedOutCounter = meterRegistry.counter("rentit.password.hash.refused", "reason", "timeout");
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes again at the current cost without holding the caller. Returns an
+     * empty future when the pool is busy; the next login simply tries again.
+     */
+    public CompletableFuture<String> rehashInBackground(String rawPassword) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                String hash = timed(() -> passwordEncoder.encode(rawPassword), submitted);
+                rehashed.increment();
+                return hash;
+            }, executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // latency is measured on the worker so queue wait and hash time are reported separately
+    private <T> T run(Supplier<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(hashing, submitted));
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            rejectedCounter.increment();
+            throw new LoginOverloadedException("Server is busy, please retry", 1);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            timedOutCounter.increment();
+            throw new LoginOverloadedException("Server is busy, please retry", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginOverloadedException("Request was interrupted", 1);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private <T> T timed(Supplier<T> hashing, long submitted) {
+        long started = System.nanoTime();
+        waitNanos.add(started - submitted);
+        waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+        try {
+            return hashing.get();
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            hashCount.increment();
+            hashNanos.add(elapsed);
+            maxHashNanos.accumulate(elapsed);
+            hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        long count = hashCount.sum();
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("poolSize", pool.getMaximumPoolSize());
+        map.put("active", pool.getActiveCount());
+        map.put("queueDepth", pool.getQueue().size());
+        map.put("queueRemaining", pool.getQueue().remainingCapacity());
+        map.put("hashes", count);
+        map.put("avgHashMillis", count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count);
+        map.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        map.put("avgQueueWaitMillis", count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count);
+        map.put("rejected", rejected.sum());
+        map.put("timedOut", timedOut.sum());
+        map.put("rehashed", rehashed.sum());
+        if (passwordEncoder instanceof AdaptiveBCryptPasswordEncoder adaptive) {
+            map.put("bcryptCost", adaptive.getTargetCost());
+        }
+        return map;
+    }
+}
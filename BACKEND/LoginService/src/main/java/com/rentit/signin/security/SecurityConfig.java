@@ -1,15 +1,22 @@
 package com.rentit.signin.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import java.time.Duration;
 import java.util.List;
 
 
@@ -17,6 +24,17 @@ import java.util.List;
 @Configuration
 public class SecurityConfig {
 
+    // actuator listens here, on loopback only (management.server.*)
+    @Value("${management.server.port}")
+    private int managementPort;
+
+    // the gateway signs its revocation-list polls with the shared identity key
+    @Value("${rentit.identity.secret}")
+    private String identitySecret;
+
+    @Value("${rentit.identity.max-skew:PT30S}")
+    private Duration identityMaxSkew;
+
     @Bean
     SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -28,17 +46,41 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.OPTIONS).permitAll()
                 .requestMatchers(
                     "/api/login",
+                    "/api/token/refresh",
+                    "/api/logout",
                     "/api/register",
                     "/states",
                     "/cities/**",
                     "/getallroles"
                 ).permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/cache/login-reference").permitAll()
+                .requestMatchers("/api/all", "/api/login/stats").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/api/cache/login-reference").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/token/revocations").access(gatewayOnly())
+                .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                 .anyRequest().authenticated()
-            );
+            )
+            // no login form here: an anonymous caller on a protected path gets 401, a wrong role 403
+            .exceptionHandling(ex -> ex
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            .addFilterBefore(new JwtFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // signed X-User-* headers with role GATEWAY, which only the gateway's own calls carry
+    private AuthorizationManager<RequestAuthorizationContext> gatewayOnly() {
+        if (identitySecret.isBlank()) {
+            throw new IllegalStateException("rentit.identity.secret (RENTIT_IDENTITY_SECRET) must not be empty");
+        }
+        GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(identitySecret, identityMaxSkew);
+        return (authentication, context) -> {
+            GatewayIdentityVerifier.Identity identity = verifier.verify(context.getRequest());
+            return new AuthorizationDecision(identity != null && "GATEWAY".equals(identity.role()));
+        };
+    }
+
     // ✅ THIS is what Spring Security uses
     // @Bean
     // public CorsConfigurationSource corsConfigurationSource() {
@@ -55,9 +97,17 @@ public class SecurityConfig {
     //     return source;
     // }
 
+    // cost > 0 pins it; otherwise the host is timed at startup against the latency budget
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${rentit.login.bcrypt.cost:0}") int cost,
+            @Value("${rentit.login.bcrypt.target-millis:50}") long targetMillis,
+            @Value("${rentit.login.bcrypt.min-cost:10}") int minCost,
+            @Value("${rentit.login.bcrypt.max-cost:14}") int maxCost) {
+        int targetCost = cost > 0
+                ? cost
+                : BCryptCostCalibrator.chooseCost(targetMillis, minCost, maxCost);
+        return new AdaptiveBCryptPasswordEncoder(targetCost);
     }
 }
 
@@ -2,8 +2,12 @@ package com.rentit.signin.services;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
+import com.rentit.signin.config.CacheConfig;
 import com.rentit.signin.entities.*;
 import com.rentit.signin.repositories.*;
 
@@ -16,11 +20,21 @@ public class LocationService {
     @Autowired
     private CityRepository cityRepository;
 
+    // states/cities are seed data, cached until TTL or evictAll()
+    @Cacheable(CacheConfig.STATES)
     public List<State> getAllStates() {
         return stateRepository.findAll();
     }
 
-    public List<City> getCitiesByState(Long stateId) {
-        return cityRepository.findByState_StateId(stateId);
+    @Cacheable(value = CacheConfig.CITIES_BY_STATE, key = "#stateId")
+    public List<City> getCitiesByState(Integer stateId) {
+        return cityRepository.findWithStateByStateId(stateId);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.STATES, allEntries = true),
+            @CacheEvict(value = CacheConfig.CITIES_BY_STATE, allEntries = true)
+    })
+    public void evictAll() {
     }
 }
@@ -2,51 +2,87 @@ package com.rentit.signin.services;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import com.rentit.signin.entities.User;
+import com.rentit.signin.dto.LoginProjection;
+import com.rentit.signin.dto.UserPage;
+import com.rentit.signin.dto.UserSummary;
 import com.rentit.signin.repositories.UserRepository;
+import com.rentit.signin.security.LoginThrottle;
+import com.rentit.signin.security.PasswordHasher;
 
 @Service
 public class LoginService {
 
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
-    public List<User> getAll() {
-        return userRepository.findAll();
+    public static final int USERS_MAX_PAGE_SIZE = 200;
+
+    public UserPage getUsers(Integer afterId, int size) {
+        int limit = Math.max(1, Math.min(size, USERS_MAX_PAGE_SIZE));
+        int cursor = afterId != null ? afterId : 0;
+
+        // fetch one extra row to know if there is a next page
+        List<UserSummary> users = userRepository.findSummariesAfter(cursor, PageRequest.of(0, limit + 1));
+        boolean hasMore = users.size() > limit;
+        if (hasMore) {
+            users = users.subList(0, limit);
+        }
+
+        Integer nextCursor = users.isEmpty() ? null : users.get(users.size() - 1).getUserId();
+        return new UserPage(users, nextCursor, hasMore);
     }
 
-    public User login(String email, String rawPassword) {
+    // throttle first (cheap), then the DB lookup, then BCrypt on the hashing pool
+    public LoginProjection login(String email, String rawPassword, String clientIp) {
 
-        System.out.println("LoginService: Looking for user with email: " + email);
+        loginThrottle.acquire(email, clientIp);
 
-        User user = userRepository.findByEmail(email);
+        LoginProjection user = userRepository.findLoginByEmail(email);
 
         if (user == null) {
-            System.out.println("LoginService: User not found");
+            log.debug("Login: no user for {}", email);
             return null;
         }
 
-        System.out.println("LoginService: User found, checking password");
-
         // ✅ CORRECT bcrypt password check
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
-            System.out.println("LoginService: Password mismatch");
+        if (!passwordHasher.matches(rawPassword, user.getPasswordHash())) {
+            log.debug("Login: password mismatch for user {}", user.getUserId());
             return null;
         }
 
-        // Force-load role (safe)
-        if (user.getRole() != null) {
-            System.out.println("LoginService: User role loaded: " 
-                + user.getRole().getRoleName());
-        } else {
-            System.out.println("LoginService: WARNING - User has no role!");
+        loginThrottle.reset(email, clientIp);
+
+        // stored cost is below this host's target: rewrite it off the request path
+        String storedHash = user.getPasswordHash();
+        if (passwordHasher.needsRehash(storedHash)) {
+            Integer userId = user.getUserId();
+            passwordHasher.rehashInBackground(rawPassword).thenAccept(newHash -> {
+                if (newHash != null) {
+                    userRepository.replacePasswordHash(userId, storedHash, newHash);
+                    log.info("Rehashed password for user {}", userId);
+                }
+            }).exceptionally(e -> {
+                log.warn("Rehash failed for user {}: {}", userId, e.getMessage());
+                return null;
+            });
+        }
+
+        if (user.getRoleName() == null) {
+            log.warn("User {} has no role", user.getUserId());
         }
 
         return user;
@@ -0,0 +1,84 @@
+package com.rentit.signin.services;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.rentit.signin.entities.RevokedToken;
+import com.rentit.signin.repositories.RefreshTokenRepository;
+import com.rentit.signin.repositories.RevokedTokenRepository;
+import com.rentit.signin.security.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps the revoked access-token ids and publishes them as a Bloom filter
+ * (GET /api/token/revocations). The gateway polls that snapshot and checks
+ * each request's jti against it in memory. Access tokens are short-lived,
+ * so only unexpired revocations are included and the filter stays small.
+ */
+@Service
+public class RevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${rentit.tokens.revocation.min-capacity:1000}")
+    private int minCapacity;
+
+    @Value("${rentit.tokens.revocation.false-positive-rate:0.000001}")
+    private double falsePositiveRate;
+
+    // serialized filter served as-is until the next rebuild
+    private volatile Map<String, Object> snapshot;
+
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt));
+    }
+
+    // only reads the published filter; the endpoint never touches the database
+    public Map<String, Object> getSnapshot() {
+        return snapshot;
+    }
+
+    // runs before the web server starts, so the endpoint always has a snapshot to serve
+    @PostConstruct
+    public void init() {
+        publish(LocalDateTime.now());
+    }
+
+    // new revocations reach the gateway within this interval plus its poll interval
+    @Scheduled(fixedDelayString = "${rentit.tokens.revocation.rebuild-interval:PT10S}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        refreshTokenRepository.deleteExpired(now);
+        publish(now);
+    }
+
+    private void publish(LocalDateTime now) {
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter filter = BloomFilter.of(jtis, minCapacity, falsePositiveRate);
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("numBits", filter.getNumBits());
+        map.put("numHashes", filter.getNumHashes());
+        map.put("bits", Base64.getEncoder().encodeToString(filter.toBytes()));
+        map.put("entries", jtis.size());
+        map.put("generatedAt", System.currentTimeMillis());
+        snapshot = map;
+    }
+}
@@ -3,8 +3,11 @@ package com.rentit.signin.services;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.rentit.signin.config.CacheConfig;
 import com.rentit.signin.entities.Role;
 import com.rentit.signin.repositories.RoleRepository;
 
@@ -14,7 +17,12 @@ public class RoleService {
 	@Autowired
 	RoleRepository repo;
 	
+	@Cacheable(CacheConfig.ROLES)
 	public List<Role> getAllRoles(){
 		return repo.findAll();
 	}
-}
\ No newline at end of file
+	
+	@CacheEvict(value = CacheConfig.ROLES, allEntries = true)
+	public void evictAll() {
+	}
+}
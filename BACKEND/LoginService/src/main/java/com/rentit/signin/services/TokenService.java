@@ -0,0 +1,152 @@
+package com.rentit.signin.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.rentit.signin.dto.LoginProjection;
+import com.rentit.signin.dto.TokenPair;
+import com.rentit.signin.entities.RefreshToken;
+import com.rentit.signin.enums.AccountStatus;
+import com.rentit.signin.repositories.RefreshTokenRepository;
+import com.rentit.signin.repositories.UserRepository;
+import com.rentit.signin.security.InvalidRefreshTokenException;
+import com.rentit.signin.security.JwtUtil;
+
+/**
+ * Issues short-lived access tokens with a rotating refresh token. Each
+ * refresh consumes the presented token and returns a new pair in the same
+ * family; a consumed token presented again means it leaked, so the whole
+ * family and its current access token are revoked.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevocationService revocationService;
+
+    @Value("${rentit.tokens.access-ttl:PT15M}")
+    private Duration accessTtl;
+
+    @Value("${rentit.tokens.refresh-ttl:P14D}")
+    private Duration refreshTtl;
+
+    @Transactional
+    public TokenPair issue(Integer userId, String role) {
+        return issue(userId, role, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public TokenPair refresh(String rawRefreshToken) {
+        if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token required");
+        }
+
+        RefreshToken current = refreshTokenRepository.findForUpdate(hash(rawRefreshToken));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current == null || current.getRevokedAt() != null || !current.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        if (current.getUsedAt() != null) {
+            log.warn("Refresh token reused, revoking family {}", current.getFamilyId());
+            revokeFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+
+        // role or status may have changed since login
+        LoginProjection user = userRepository.findLoginById(current.getUserId());
+        if (user == null || user.getStatus() == null
+                || user.getStatus() != AccountStatus.ACTIVE.getValue()) {
+            revokeFamily(current.getFamilyId());
+            throw new InvalidRefreshTokenException("Account inactive");
+        }
+
+        current.setUsedAt(now);
+        return issue(user.getUserId(), user.getRoleName(), current.getFamilyId());
+    }
+
+    // revokes the refresh token's family and, if given, the caller's access token
+    @Transactional
+    public void logout(String rawRefreshToken, String accessJti, Date accessExpiresAt) {
+        if (rawRefreshToken != null && !rawRefreshToken.isBlank()) {
+            RefreshToken token = refreshTokenRepository.findForUpdate(hash(rawRefreshToken));
+            if (token != null) {
+                revokeFamily(token.getFamilyId());
+            }
+        }
+        if (accessJti != null && accessExpiresAt != null) {
+            revocationService.revoke(accessJti, toLocal(accessExpiresAt));
+        }
+    }
+
+    private TokenPair issue(Integer userId, String role, String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        String jti = UUID.randomUUID().toString();
+        Date accessExpiresAt = new Date(System.currentTimeMillis() + accessTtl.toMillis());
+        String accessToken = JwtUtil.generateToken(userId, role, jti, accessExpiresAt);
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawRefreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(userId);
+        token.setTokenHash(hash(rawRefreshToken));
+        token.setFamilyId(familyId);
+        token.setAccessJti(jti);
+        token.setAccessExpiresAt(toLocal(accessExpiresAt));
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(refreshTtl));
+        refreshTokenRepository.save(token);
+
+        return new TokenPair(accessToken, rawRefreshToken, accessTtl.toSeconds());
+    }
+
+    private void revokeFamily(String familyId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (RefreshToken token : refreshTokenRepository.findByFamilyIdAndRevokedAtIsNull(familyId)) {
+            token.setRevokedAt(now);
+            revocationService.revoke(token.getAccessJti(), token.getAccessExpiresAt());
+        }
+    }
+
+    private static LocalDateTime toLocal(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    // only the hash is stored, a database leak does not hand out live tokens
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
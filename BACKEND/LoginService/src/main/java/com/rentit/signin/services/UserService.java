@@ -14,7 +14,7 @@ import com.rentit.signin.repositories.UserRepository;
 
 import com.rentit.signin.dto.RegisterRequest;
 import com.rentit.signin.enums.AccountStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.rentit.signin.security.PasswordHasher;
 
 
 @Service
@@ -33,7 +33,7 @@ public class UserService {
 	private RoleRepository roleRepository;
 
 	@Autowired
-	private PasswordEncoder passwordEncoder;
+	private PasswordHasher passwordHasher;
 
 
 	public User registerUser(RegisterRequest req) {
@@ -52,7 +52,7 @@ public class UserService {
 	    user.setAddress(req.getAddress());
 
 	    // 🔐 Encrypt password
-	    user.setPassword(passwordEncoder.encode(req.getPassword()));
+	    user.setPassword(passwordHasher.encode(req.getPassword()));
 
 	    // ✅ Account ACTIVE by default
 	    user.setStatus(AccountStatus.ACTIVE.getValue());
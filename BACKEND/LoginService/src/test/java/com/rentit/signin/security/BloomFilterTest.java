@@ -0,0 +1,39 @@
+package com.rentit.signin.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+// LoginService publishes the filter and the gateway reads it with its own copy of
+// the class. Both copies are pinned to the same encoding here; the gateway's copy (com.rentit.gateway.util.BloomFilter)
+// has the same test, so a change to either one fails until the other matches.
+class BloomFilterTest {
+
+    private static final List<String> JTIS = List.of("jti-1", "jti-2", "jti-3");
+    private static final String ENCODED = "AgAABAAAAABA/wAfwIAAAAAAAAAAIAAA";
+
+    @Test
+    void encodingMatchesTheOtherCopy() {
+        BloomFilter filter = BloomFilter.of(JTIS, 16, 0.01);
+
+        assertEquals(154, filter.getNumBits());
+        assertEquals(7, filter.getNumHashes());
+        assertEquals(ENCODED, Base64.getEncoder().encodeToString(filter.toBytes()));
+    }
+
+    @Test
+    void decodedFilterAnswersLikeTheOriginal() {
+        byte[] bytes = Base64.getDecoder().decode(ENCODED);
+        BloomFilter filter = BloomFilter.fromBytes(bytes, 154, 7);
+
+        JTIS.forEach(jti -> assertTrue(filter.mightContain(jti)));
+        assertFalse(filter.mightContain("jti-4"));
+        assertArrayEquals(bytes, filter.toBytes());
+    }
+}
@@ -0,0 +1,27 @@
+package com.rentit.productservice.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+// Caffeine caches for reference data; size, TTL and stats come from spring.cache.caffeine.spec
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_BY_ID = "categoryById";
+    public static final String ITEMS_BY_CATEGORY = "itemsByCategory";
+    public static final String ITEM_BY_ID = "itemById";
+
+    // ETag on the dropdown endpoints, a repeat call with If-None-Match gets an empty 304
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/categories", "/api/items/category/*");
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.rentit.productservice.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImageProcessingConfig {
+
+    // Resizing is CPU and memory heavy (a 10 MB JPEG decodes to ~100 MB of pixels),
+    // so it gets a small fixed pool and a bounded queue instead of the request threads.
+    // When the queue is full the task is rejected; ImageVariantProcessor retries on the
+    // next request for that image.
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor(
+            @Value("${rentit.images.variants.threads:2}") int threads,
+            @Value("${rentit.images.variants.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variants-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(CorrelationIdFilter.mdcPropagating());
+        executor.initialize();
+        return executor;
+    }
+}
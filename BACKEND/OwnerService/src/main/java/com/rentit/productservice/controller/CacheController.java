@@ -0,0 +1,64 @@
+package com.rentit.productservice.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rentit.productservice.service.ReferenceDataService;
+
+@RestController
+@RequestMapping("/api/cache/reference")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    // hit/miss counters per cache
+    @GetMapping
+    public ResponseEntity<?> getStats() {
+        Map<String, Object> response = new HashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (!(cache instanceof CaffeineCache caffeineCache)) {
+                continue;
+            }
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            Map<String, Object> map = new HashMap<>();
+            map.put("size", caffeineCache.getNativeCache().estimatedSize());
+            map.put("hits", stats.hitCount());
+            map.put("misses", stats.missCount());
+            map.put("hitRate", stats.hitRate());
+            map.put("evictions", stats.evictionCount());
+            response.put(name, map);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // call after categories/items are changed outside this service; through the
+    // gateway this also drops its cached /api/categories and /api/items responses
+    @DeleteMapping
+    public ResponseEntity<?> evict(HttpServletRequest request) {
+        String role = (String) request.getAttribute("role");
+        if (!"ADMIN".equalsIgnoreCase(role)) {
+            return ResponseEntity.status(403).body("Only ADMIN can clear caches");
+        }
+
+        referenceDataService.evictAll();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Reference data cache cleared");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,24 +2,27 @@ package com.rentit.productservice.controller;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import com.rentit.productservice.entity.Category;
-import com.rentit.productservice.repository.CategoryRepository;
+import com.rentit.productservice.service.ReferenceDataService;
 
 // @CrossOrigin(origins = "http://localhost:3000")
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
 
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+
     @Autowired
-    private CategoryRepository categoryRepository;
+    private ReferenceDataService referenceDataService;
 
     // GET all categories (for dropdown)
     @GetMapping
     public List<Category> getAllCategories() {
-    	System.out.println("🔥 CATEGORY CONTROLLER HIT");
-        return categoryRepository.findAll();
+        return referenceDataService.getAllCategories();
     }
 }
@@ -6,18 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
 import com.rentit.productservice.entity.Item;
-import com.rentit.productservice.repository.ItemRepository;
+import com.rentit.productservice.service.ReferenceDataService;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
 
     @Autowired
-    private ItemRepository itemRepository;
+    private ReferenceDataService referenceDataService;
 
     // GET items by category (category → items dropdown)
     @GetMapping("/category/{categoryId}")
     public List<Item> getItemsByCategory(@PathVariable int categoryId) {
-        return itemRepository.findByCategoryId(categoryId);
+        return referenceDataService.getItemsByCategory(categoryId);
     }
 }
@@ -6,8 +6,19 @@ import com.rentit.productservice.request.ProductAddRequest;
 import com.rentit.productservice.request.ProductUpdateRequest;
 import com.rentit.productservice.entity.*;
 import com.rentit.productservice.repository.*;
-
+import com.rentit.productservice.response.MyProductResponse;
+import com.rentit.productservice.service.ReferenceDataService;
+import com.rentit.productservice.storage.BlobStore;
+import com.rentit.productservice.storage.ImageVariantProcessor;
+import com.rentit.productservice.storage.ImageVariantType;
+import com.rentit.productservice.util.ImageUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,23 +29,36 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
-    @Autowired
-    private ItemRepository itemRepository;
+    private static final Logger log = LoggerFactory.getLogger(ProductController.class);
+
+    // browsers revalidate with If-None-Match after this
+    private static final Duration IMAGE_MAX_AGE = Duration.ofMinutes(5);
+
+    private static final int MY_PRODUCTS_MAX_PAGE_SIZE = 100;
 
     @Autowired
     private OwnerItemRepository ownerItemRepository;
@@ -43,7 +67,19 @@ public class ProductController {
     private ImageRepository imageRepository;
     
     @Autowired
-    private CategoryRepository categoryRepository;
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+
+    @Autowired
+    private ImageVariantProcessor imageVariantProcessor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
 	
     
@@ -64,23 +100,16 @@ public class ProductController {
     	
     	if (result.hasErrors()) {
             result.getFieldErrors().forEach(err ->
-                System.out.println("error: " +
-                    err.getField() + " -> " + err.getRejectedValue() + " : " + err.getDefaultMessage()
+                log.debug("addProduct rejected: {} -> {} : {}",
+                    err.getField(), err.getRejectedValue(), err.getDefaultMessage()
                 )
             );
             return ResponseEntity.badRequest().body(result.getFieldErrors());
         }
-    	System.out.println("ADD PRODUCT CONTROLLER HIT @ " + System.currentTimeMillis());
 
-    	System.out.println("===== ADD PRODUCT DEBUG =====");
-    	System.out.println("categoryId = " + req.getCategoryId());
-    	System.out.println("itemId = " + req.getItemId());
-    	System.out.println("brand = " + req.getBrand());
-    	System.out.println("rentPerDay = " + req.getRentPerDay());
-    	System.out.println("depositAmt = " + req.getDepositAmt());
-    	System.out.println("img1 = " + (req.getImg1() != null));
-    	System.out.println("maxRentDays = " + req.getMaxRentDays());
-    	System.out.println("================================");
+    	log.debug("addProduct categoryId={} itemId={} brand={} rentPerDay={} depositAmt={} img1={} maxRentDays={}",
+    	        req.getCategoryId(), req.getItemId(), req.getBrand(), req.getRentPerDay(),
+    	        req.getDepositAmt(), req.getImg1() != null, req.getMaxRentDays());
 
 
     	 // ✅ Extract from filter (NOT JWT)
@@ -100,11 +129,11 @@ public class ProductController {
 
 
         // 1️⃣ validate category exists
-        Category category = categoryRepository.findById(req.getCategoryId())
+        Category category = referenceDataService.findCategory(req.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Invalid category"));
 
         // 2️⃣ validate item exists
-        Item item = itemRepository.findById(req.getItemId())
+        Item item = referenceDataService.findItem(req.getItemId())
                 .orElseThrow(() -> new RuntimeException("Invalid item"));
 
         // 3️⃣ validate item belongs to category......this is safer for wrappers
@@ -134,16 +163,11 @@ public class ProductController {
         Image image = new Image();
         image.setOtId(ownerItem.getOtId());
 
-        if (req.getImg1() != null && !req.getImg1().isEmpty())
-            image.setImg1(req.getImg1().getBytes());
-        if (req.getImg2() != null && !req.getImg2().isEmpty())
-            image.setImg2(req.getImg2().getBytes());
-        if (req.getImg3() != null && !req.getImg3().isEmpty())
-            image.setImg3(req.getImg3().getBytes());
-        if (req.getImg4() != null && !req.getImg4().isEmpty())
-            image.setImg4(req.getImg4().getBytes());
-        if (req.getImg5() != null && !req.getImg5().isEmpty())
-            image.setImg5(req.getImg5().getBytes());
+        storeImage(image, "img1", req.getImg1());
+        storeImage(image, "img2", req.getImg2());
+        storeImage(image, "img3", req.getImg3());
+        storeImage(image, "img4", req.getImg4());
+        storeImage(image, "img5", req.getImg5());
 
         imageRepository.save(image);
 
@@ -244,33 +268,151 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
-    //Get product images
+    //Get product images (metadata + URLs, the bytes come from /{otId}/images/{slot})
     @GetMapping("/{otId}/images")
-    public ResponseEntity<?> getProductImages(@PathVariable int otId) {
+    public ResponseEntity<?> getProductImages(@PathVariable int otId) throws IOException {
 
-        Image image = imageRepository.findByOtId(otId);
+        ImageRepository.ImageSlotInfo info = imageRepository.findSlotInfoByOtId(otId);
 
-        if (image == null) {
+        if (info == null) {
             return ResponseEntity.ok(Map.of());
         }
 
-        Map<String, String> response = new HashMap<>();
+        // every variant of the row's images in one query
+        Set<String> hashes = new HashSet<>();
+        for (int i = 0; i < ImageUtil.SLOTS.size(); i++) {
+            if (info.hash(i) != null) {
+                hashes.add(info.hash(i));
+            }
+        }
+        Map<String, List<ImageVariant>> variantsBySource = hashes.isEmpty()
+                ? Map.of()
+                : imageVariantRepository.findBySourceHashIn(hashes).stream()
+                        .collect(Collectors.groupingBy(ImageVariant::getSourceHash));
 
-        if (image.getImg1() != null)
-            response.put("img1", Base64.getEncoder().encodeToString(image.getImg1()));
-        if (image.getImg2() != null)
-            response.put("img2", Base64.getEncoder().encodeToString(image.getImg2()));
-        if (image.getImg3() != null)
-            response.put("img3", Base64.getEncoder().encodeToString(image.getImg3()));
-        if (image.getImg4() != null)
-            response.put("img4", Base64.getEncoder().encodeToString(image.getImg4()));
-        if (image.getImg5() != null)
-            response.put("img5", Base64.getEncoder().encodeToString(image.getImg5()));
+        Map<String, Object> response = new HashMap<>();
+        for (int i = 0; i < ImageUtil.SLOTS.size(); i++) {
+            String hash = info.hash(i);
+            Long size;
+            try {
+                size = hash != null ? Long.valueOf(blobStore.size(hash)) : info.legacySize(i);
+            } catch (NoSuchFileException e) {
+                log.warn("Blob {} of product {} is missing", hash, otId);
+                continue;
+            }
+            if (size == null) {
+                continue;
+            }
+            String slot = ImageUtil.SLOTS.get(i);
+            Map<String, Object> meta = new HashMap<>();
+            meta.put("url", "/api/products/" + otId + "/images/" + slot);
+            meta.put("size", size);
+            if (hash != null) {
+                meta.put("hash", hash);
+                Map<String, Object> variants = new HashMap<>();
+                for (ImageVariant variant : variantsBySource.getOrDefault(hash, List.of())) {
+                    Map<String, Object> v = new HashMap<>();
+                    v.put("url", "/api/products/" + otId + "/images/" + slot + "?variant=" + variant.getVariant());
+                    v.put("width", variant.getWidth());
+                    v.put("height", variant.getHeight());
+                    v.put("size", variant.getSizeBytes());
+                    variants.put(variant.getVariant(), v);
+                }
+                meta.put("variants", variants);
+            }
+            response.put(slot, meta);
+        }
 
         return ResponseEntity.ok(response);
     }
 
-    
+    //Get one product image as raw bytes (public, cacheable)
+    //?variant=thumb|card|full or ?w=<display width> picks the smallest resized copy that fits
+    @GetMapping("/{otId}/images/{slot}")
+    public ResponseEntity<StreamingResponseBody> getProductImage(
+            @PathVariable int otId,
+            @PathVariable String slot,
+            @RequestParam(required = false) String variant,
+            @RequestParam(required = false) Integer w,
+            WebRequest webRequest
+    ) throws IOException {
+        if (!ImageUtil.isValidSlot(slot)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ImageVariantType variantType = null;
+        if (w != null) {
+            variantType = ImageVariantType.forWidth(w);
+        } else if (variant != null) {
+            try {
+                variantType = ImageVariantType.fromKey(variant);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        ImageRepository.ImageSlotInfo info = imageRepository.findSlotInfoByOtId(otId);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String sourceHash = info.hash(ImageUtil.SLOTS.indexOf(slot.toLowerCase()));
+        if (sourceHash != null) {
+            ImageVariant resized = variantType == null ? null : imageVariantRepository
+                    .findBySourceHashAndVariant(sourceHash, variantType.key())
+                    .orElse(null);
+            if (variantType != null && resized == null) {
+                // not generated yet (queue was full, or uploaded before variants existed)
+                imageVariantProcessor.submit(sourceHash);
+            }
+            String hash = resized != null ? resized.getVariantHash() : sourceHash;
+
+            // the stored hash is the ETag, so a 304 never touches the file
+            String etag = "\"" + hash + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            long size;
+            try {
+                size = blobStore.size(hash);
+            } catch (NoSuchFileException e) {
+                log.warn("Blob {} of product {} is missing", hash, otId);
+                return ResponseEntity.notFound().build();
+            }
+            recordImageBytes(resized != null ? variantType.key() : "original", size);
+            return ResponseEntity.ok()
+                    .contentType(ImageUtil.detectContentType(blobStore.readHead(hash, 12)))
+                    .contentLength(size)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic())
+                    .body(out -> blobStore.transferTo(hash, Channels.newChannel(out)));
+        }
+
+        // row not migrated yet, bytes still in MySQL
+        byte[] data = imageRepository.findSlotByOtId(otId, slot);
+        if (data == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + ImageUtil.sha256Hex(data) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        recordImageBytes("legacy", data.length);
+        return ResponseEntity.ok()
+                .contentType(ImageUtil.detectContentType(data))
+                .contentLength(data.length)
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic())
+                .body(out -> out.write(data));
+    }
+
+    // rentit.images.served.bytes{variant}: what image traffic costs, and how much the variants save
+    private void recordImageBytes(String variant, long bytes) {
+        meterRegistry.summary("rentit.images.served.bytes", "variant", variant).record(bytes);
+    }
+
     //Edit product images
     @Transactional
     @PutMapping(value = "/{otId}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -295,21 +437,11 @@ public class ProductController {
         }
 
         // 3️⃣ Update only provided images
-        if (img1 != null && !img1.isEmpty()) {
-            image.setImg1(img1.getBytes());
-        }
-        if (img2 != null && !img2.isEmpty()) {
-            image.setImg2(img2.getBytes());
-        }
-        if (img3 != null && !img3.isEmpty()) {
-            image.setImg3(img3.getBytes());
-        }
-        if (img4 != null && !img4.isEmpty()) {
-            image.setImg4(img4.getBytes());
-        }
-        if (img5 != null && !img5.isEmpty()) {
-            image.setImg5(img5.getBytes());
-        }
+        storeImage(image, "img1", img1);
+        storeImage(image, "img2", img2);
+        storeImage(image, "img3", img3);
+        storeImage(image, "img4", img4);
+        storeImage(image, "img5", img5);
 
         // 4️⃣ Save
         imageRepository.save(image);
@@ -335,14 +467,9 @@ public class ProductController {
             throw new RuntimeException("Image record not found for product");
         }
 
-        switch (imgKey.toLowerCase()) {
-            case "img1" -> image.setImg1(null);
-            case "img2" -> image.setImg2(null);
-            case "img3" -> image.setImg3(null);
-            case "img4" -> image.setImg4(null);
-            case "img5" -> image.setImg5(null);
-            default -> throw new IllegalArgumentException("Invalid image key");
-        }
+        // blob file stays: content-addressed, another listing may use the same image
+        image.setBlob(imgKey, null);
+        image.setHash(imgKey, null);
 
         imageRepository.save(image);
 
@@ -355,8 +482,15 @@ public class ProductController {
     }
     
     
+    //List the owner's products, optionally filtered by status and paged by otId
+    //(?after=<last otId seen>&size=N); one query whatever the number of listings
     @GetMapping("/myProducts")
-    public ResponseEntity<?> getMyProducts(HttpServletRequest request) {
+    public ResponseEntity<?> getMyProducts(
+            HttpServletRequest request,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size
+    ) {
 
         Integer userId = (Integer) request.getAttribute("userId");
         String role = (String) request.getAttribute("role");
@@ -371,46 +505,39 @@ public class ProductController {
             return ResponseEntity.status(403).body("Only OWNER can access listings");
         }
 
-        // 1️⃣ Fetch owner items
-        List<OwnerItem> ownerItems = ownerItemRepository.findByUserId(userId);
-
-        // 2️⃣ Build response
-        List<Map<String, Object>> response = ownerItems.stream().map(oi -> {
-            Map<String, Object> map = new HashMap<>();
-
-            map.put("otId", oi.getOtId());
-            map.put("brand", oi.getBrand());
-            map.put("description", oi.getDescription());
-            map.put("conditionType", oi.getConditionType());
-            map.put("rentPerDay", oi.getRentPerDay());
-            map.put("depositAmt", oi.getDepositAmt());
-            map.put("status", oi.getStatus());
-            map.put("maxRentDays", oi.getMaxRentDays());
-
-            // 🔹 fetch item info
-            Item item = itemRepository.findById(oi.getItemId()).orElse(null);
-            if (item != null) {
-                Map<String, Object> itemMap = new HashMap<>();
-                itemMap.put("itemId", item.getItemId());
-                itemMap.put("itemName", item.getItemName());
-
-                Category category = categoryRepository.findById(item.getCategoryId()).orElse(null);
-                if (category != null) {
-                    Map<String, Object> categoryMap = new HashMap<>();
-                    categoryMap.put("categoryId", category.getCategoryId());
-                    categoryMap.put("type", category.getCategoryName());
-                    itemMap.put("category", categoryMap);
-                }
-
-                map.put("item", itemMap);
+        String statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            statusFilter = status.trim().toUpperCase();
+            if (!statusFilter.equals("AVAILABLE") && !statusFilter.equals("UNAVAILABLE")) {
+                return ResponseEntity.badRequest().body("Invalid status value");
             }
+        }
+
+        Pageable page = size != null
+                ? PageRequest.of(0, Math.max(1, Math.min(size, MY_PRODUCTS_MAX_PAGE_SIZE)))
+                : Pageable.unpaged();
 
-            return map;
-        }).toList();
+        List<MyProductResponse> response = ownerItemRepository.findMyProducts(
+                userId, statusFilter, after != null ? after : 0, page);
 
         return ResponseEntity.ok(response);
     }
 
 
 
+    // writes the upload to the blob store and keeps only its hash on the row; the file is
+    // written before the transaction commits and is left orphaned if it rolls back (see BlobStore)
+    private void storeImage(Image image, String slot, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            return;
+        }
+        String hash;
+        try (InputStream in = file.getInputStream()) {
+            hash = blobStore.put(in);
+        }
+        image.setHash(slot, hash);
+        image.setBlob(slot, null);
+        // thumb/card/full are built in the background, the original is served until then
+        imageVariantProcessor.submit(hash);
+    }
 }
@@ -31,6 +31,22 @@ public class Image {
     @Column(name = "img_5")
     private byte[] img5;
 
+    // sha-256 of each image in the BlobStore; img_N above only holds rows not yet migrated
+    @Column(name = "img_1_hash", length = 64)
+    private String img1Hash;
+
+    @Column(name = "img_2_hash", length = 64)
+    private String img2Hash;
+
+    @Column(name = "img_3_hash", length = 64)
+    private String img3Hash;
+
+    @Column(name = "img_4_hash", length = 64)
+    private String img4Hash;
+
+    @Column(name = "img_5_hash", length = 64)
+    private String img5Hash;
+
     @Column(name = "ot_id")
     private int otId;
 
@@ -84,6 +100,46 @@ public class Image {
         this.img5 = img5;
     }
 
+    public String getImg1Hash() {
+        return img1Hash;
+    }
+
+    public void setImg1Hash(String img1Hash) {
+        this.img1Hash = img1Hash;
+    }
+
+    public String getImg2Hash() {
+        return img2Hash;
+    }
+
+    public void setImg2Hash(String img2Hash) {
+        this.img2Hash = img2Hash;
+    }
+
+    public String getImg3Hash() {
+        return img3Hash;
+    }
+
+    public void setImg3Hash(String img3Hash) {
+        this.img3Hash = img3Hash;
+    }
+
+    public String getImg4Hash() {
+        return img4Hash;
+    }
+
+    public void setImg4Hash(String img4Hash) {
+        this.img4Hash = img4Hash;
+    }
+
+    public String getImg5Hash() {
+        return img5Hash;
+    }
+
+    public void setImg5Hash(String img5Hash) {
+        this.img5Hash = img5Hash;
+    }
+
     public int getOtId() {
         return otId;
     }
@@ -91,4 +147,50 @@ public class Image {
     public void setOtId(int otId) {
         this.otId = otId;
     }
+
+    // -------- slot access by key (img1..img5) --------
+
+    public byte[] getBlob(String slot) {
+        return switch (slot.toLowerCase()) {
+            case "img1" -> img1;
+            case "img2" -> img2;
+            case "img3" -> img3;
+            case "img4" -> img4;
+            case "img5" -> img5;
+            default -> throw new IllegalArgumentException("Invalid image key");
+        };
+    }
+
+    public void setBlob(String slot, byte[] data) {
+        switch (slot.toLowerCase()) {
+            case "img1" -> img1 = data;
+            case "img2" -> img2 = data;
+            case "img3" -> img3 = data;
+            case "img4" -> img4 = data;
+            case "img5" -> img5 = data;
+            default -> throw new IllegalArgumentException("Invalid image key");
+        }
+    }
+
+    public String getHash(String slot) {
+        return switch (slot.toLowerCase()) {
+            case "img1" -> img1Hash;
+            case "img2" -> img2Hash;
+            case "img3" -> img3Hash;
+            case "img4" -> img4Hash;
+            case "img5" -> img5Hash;
+            default -> throw new IllegalArgumentException("Invalid image key");
+        };
+    }
+
+    public void setHash(String slot, String hash) {
+        switch (slot.toLowerCase()) {
+            case "img1" -> img1Hash = hash;
+            case "img2" -> img2Hash = hash;
+            case "img3" -> img3Hash = hash;
+            case "img4" -> img4Hash = hash;
+            case "img5" -> img5Hash = hash;
+            default -> throw new IllegalArgumentException("Invalid image key");
+        }
+    }
 }
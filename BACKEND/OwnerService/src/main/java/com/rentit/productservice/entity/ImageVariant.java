@@ -0,0 +1,91 @@
+package com.rentit.productservice.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "image_variant")
+public class ImageVariant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "variant_id")
+    private int variantId;
+
+    // hash of the uploaded original in the BlobStore
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
+    // thumb / card / full, see ImageVariantType
+    @Column(name = "variant", length = 16)
+    private String variant;
+
+    @Column(name = "variant_hash", length = 64)
+    private String variantHash;
+
+    @Column(name = "width")
+    private int width;
+
+    @Column(name = "height")
+    private int height;
+
+    @Column(name = "size_bytes")
+    private long sizeBytes;
+
+    // -------- Getters & Setters --------
+
+    public int getVariantId() {
+        return variantId;
+    }
+
+    public void setVariantId(int variantId) {
+        this.variantId = variantId;
+    }
+
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public String getVariantHash() {
+        return variantHash;
+    }
+
+    public void setVariantHash(String variantHash) {
+        this.variantHash = variantHash;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+}
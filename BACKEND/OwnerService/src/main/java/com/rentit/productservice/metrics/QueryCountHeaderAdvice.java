@@ -0,0 +1,35 @@
+package com.rentit.productservice.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev mode (rentit.metrics.query-count-header=true): every JSON response
+ * carries X-Query-Count / X-Select-Count for the statements the request ran
+ * before its body was written.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "rentit.metrics.query-count-header", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set("X-Query-Count", Long.toString(QueryCountInspector.count()));
+        response.getHeaders().set("X-Select-Count",
+                Long.toString(QueryCountInspector.count(QueryCountInspector.Kind.SELECT)));
+        return body;
+    }
+}
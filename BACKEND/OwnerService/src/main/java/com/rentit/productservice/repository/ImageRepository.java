@@ -1,6 +1,12 @@
 package com.rentit.productservice.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.rentit.productservice.entity.Image;
 
 public interface ImageRepository extends JpaRepository<Image, Integer> {
@@ -8,4 +14,69 @@ public interface ImageRepository extends JpaRepository<Image, Integer> {
     void deleteByOtId(int otId);
 
     Image findByOtId(int otId);
+
+    // single-column reads for rows not yet moved to the blob store
+
+    @Query("SELECT i.img1 FROM Image i WHERE i.otId = :otId")
+    byte[] findImg1ByOtId(@Param("otId") int otId);
+
+    @Query("SELECT i.img2 FROM Image i WHERE i.otId = :otId")
+    byte[] findImg2ByOtId(@Param("otId") int otId);
+
+    @Query("SELECT i.img3 FROM Image i WHERE i.otId = :otId")
+    byte[] findImg3ByOtId(@Param("otId") int otId);
+
+    @Query("SELECT i.img4 FROM Image i WHERE i.otId = :otId")
+    byte[] findImg4ByOtId(@Param("otId") int otId);
+
+    @Query("SELECT i.img5 FROM Image i WHERE i.otId = :otId")
+    byte[] findImg5ByOtId(@Param("otId") int otId);
+
+    default byte[] findSlotByOtId(int otId, String slot) {
+        return switch (slot.toLowerCase()) {
+            case "img1" -> findImg1ByOtId(otId);
+            case "img2" -> findImg2ByOtId(otId);
+            case "img3" -> findImg3ByOtId(otId);
+            case "img4" -> findImg4ByOtId(otId);
+            case "img5" -> findImg5ByOtId(otId);
+            default -> throw new IllegalArgumentException("Invalid image key");
+        };
+    }
+
+    // hash and legacy blob size per slot, without sending any blob over JDBC
+    @Query(value = "SELECT img_1_hash AS img1Hash, img_2_hash AS img2Hash, img_3_hash AS img3Hash, "
+            + "img_4_hash AS img4Hash, img_5_hash AS img5Hash, "
+            + "LENGTH(img_1) AS img1Size, LENGTH(img_2) AS img2Size, LENGTH(img_3) AS img3Size, "
+            + "LENGTH(img_4) AS img4Size, LENGTH(img_5) AS img5Size "
+            + "FROM image WHERE ot_id = :otId LIMIT 1",
+            nativeQuery = true)
+    ImageSlotInfo findSlotInfoByOtId(@Param("otId") int otId);
+
+    // rows that still keep image bytes in MySQL, for the blob store migration
+    @Query("SELECT i.imageId FROM Image i WHERE i.imageId > :afterId AND (i.img1 IS NOT NULL "
+            + "OR i.img2 IS NOT NULL OR i.img3 IS NOT NULL OR i.img4 IS NOT NULL OR i.img5 IS NOT NULL) "
+            + "ORDER BY i.imageId")
+    List<Integer> findLegacyBlobImageIds(@Param("afterId") int afterId, Pageable pageable);
+
+    interface ImageSlotInfo {
+        String getImg1Hash();
+        String getImg2Hash();
+        String getImg3Hash();
+        String getImg4Hash();
+        String getImg5Hash();
+        Long getImg1Size();
+        Long getImg2Size();
+        Long getImg3Size();
+        Long getImg4Size();
+        Long getImg5Size();
+
+        // index 0..4 in ImageUtil.SLOTS order
+        default String hash(int index) {
+            return new String[] { getImg1Hash(), getImg2Hash(), getImg3Hash(), getImg4Hash(), getImg5Hash() }[index];
+        }
+
+        default Long legacySize(int index) {
+            return new Long[] { getImg1Size(), getImg2Size(), getImg3Size(), getImg4Size(), getImg5Size() }[index];
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.rentit.productservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.rentit.productservice.entity.ImageVariant;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Integer> {
+
+    Optional<ImageVariant> findBySourceHashAndVariant(String sourceHash, String variant);
+
+    List<ImageVariant> findBySourceHash(String sourceHash);
+
+    List<ImageVariant> findBySourceHashIn(Collection<String> sourceHashes);
+}
@@ -2,9 +2,30 @@ package com.rentit.productservice.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.rentit.productservice.entity.OwnerItem;
+import com.rentit.productservice.response.MyProductResponse;
 
 public interface OwnerItemRepository extends JpaRepository<OwnerItem, Integer> {
 	 List<OwnerItem> findByUserId(int userId);
+
+	 // owner dashboard listing in one round trip: item and category joined, no entities loaded.
+	 // status is optional; afterId + pageable give keyset paging ordered by ot_id
+	 @Query("SELECT new com.rentit.productservice.response.MyProductResponse("
+	 		+ "o.otId, o.brand, o.description, o.conditionType, o.rentPerDay, o.depositAmt, "
+	 		+ "o.status, o.maxRentDays, i.itemId, i.itemName, c.categoryId, c.categoryName) "
+	 		+ "FROM OwnerItem o "
+	 		+ "LEFT JOIN Item i ON i.itemId = o.itemId "
+	 		+ "LEFT JOIN Category c ON c.categoryId = i.categoryId "
+	 		+ "WHERE o.userId = :userId AND o.otId > :afterId "
+	 		+ "AND (:status IS NULL OR o.status = :status) "
+	 		+ "ORDER BY o.otId")
+	 List<MyProductResponse> findMyProducts(@Param("userId") int userId,
+	 		@Param("status") String status,
+	 		@Param("afterId") int afterId,
+	 		Pageable pageable);
 }
@@ -0,0 +1,119 @@
+package com.rentit.productservice.response;
+
+/**
+ * One row of GET /api/products/myProducts, built directly by the
+ * OwnerItemRepository.findMyProducts projection (owner_items + items + category).
+ * Keeps the nested item/category shape the owner dashboard reads.
+ */
+public class MyProductResponse {
+
+    private int otId;
+    private String brand;
+    private String description;
+    private String conditionType;
+    private int rentPerDay;
+    private int depositAmt;
+    private String status;
+    private int maxRentDays;
+    private ItemInfo item;
+
+    // used by the JPQL constructor expression; item/category come from LEFT JOINs
+    public MyProductResponse(int otId, String brand, String description, String conditionType,
+                             int rentPerDay, int depositAmt, String status, int maxRentDays,
+                             Integer itemId, String itemName, Integer categoryId, String categoryType) {
+        this.otId = otId;
+        this.brand = brand;
+        this.description = description;
+        this.conditionType = conditionType;
+        this.rentPerDay = rentPerDay;
+        this.depositAmt = depositAmt;
+        this.status = status;
+        this.maxRentDays = maxRentDays;
+        if (itemId != null) {
+            CategoryInfo category = categoryId != null ? new CategoryInfo(categoryId, categoryType) : null;
+            this.item = new ItemInfo(itemId, itemName, category);
+        }
+    }
+
+    // ---------- Getters ----------
+
+    public int getOtId() {
+        return otId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getConditionType() {
+        return conditionType;
+    }
+
+    public int getRentPerDay() {
+        return rentPerDay;
+    }
+
+    public int getDepositAmt() {
+        return depositAmt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getMaxRentDays() {
+        return maxRentDays;
+    }
+
+    public ItemInfo getItem() {
+        return item;
+    }
+
+    public static class ItemInfo {
+
+        private final int itemId;
+        private final String itemName;
+        private final CategoryInfo category;
+
+        public ItemInfo(int itemId, String itemName, CategoryInfo category) {
+            this.itemId = itemId;
+            this.itemName = itemName;
+            this.category = category;
+        }
+
+        public int getItemId() {
+            return itemId;
+        }
+
+        public String getItemName() {
+            return itemName;
+        }
+
+        public CategoryInfo getCategory() {
+            return category;
+        }
+    }
+
+    public static class CategoryInfo {
+
+        private final int categoryId;
+        private final String type;
+
+        public CategoryInfo(int categoryId, String type) {
+            this.categoryId = categoryId;
+            this.type = type;
+        }
+
+        public int getCategoryId() {
+            return categoryId;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.rentit.productservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Checks the identity headers signed by the API gateway (IdentitySigner there):
+ * base64url(HMAC-SHA256(secret, userId + "\n" + role + "\n" + timestampMillis)).
+ * A header set is accepted only while its timestamp is within maxSkew of now.
+ */
+public class GatewayIdentityVerifier {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String ROLE_HEADER = "X-User-Role";
+    public static final String TIMESTAMP_HEADER = "X-Identity-Ts";
+    public static final String SIGNATURE_HEADER = "X-Identity-Signature";
+
+    public record Identity(Integer userId, String role) {}
+
+    private final SecretKeySpec key;
+    private final long maxSkewMillis;
+    private final ThreadLocal<Mac> mac;
+
+    public GatewayIdentityVerifier(String secret, Duration maxSkew) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxSkewMillis = maxSkew.toMillis();
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public boolean hasSignedHeaders(HttpServletRequest request) {
+        return request.getHeader(SIGNATURE_HEADER) != null;
+    }
+
+    public Identity verify(HttpServletRequest request) {
+        return verify(
+                request.getHeader(USER_ID_HEADER),
+                request.getHeader(ROLE_HEADER),
+                request.getHeader(TIMESTAMP_HEADER),
+                request.getHeader(SIGNATURE_HEADER),
+                System.currentTimeMillis());
+    }
+
+    // null when anything is missing, malformed, stale or not signed with our key
+    public Identity verify(String userId, String role, String timestamp, String signature, long nowMillis) {
+        if (userId == null || role == null || timestamp == null || signature == null) {
+            return null;
+        }
+        long ts;
+        Integer id;
+        try {
+            ts = Long.parseLong(timestamp);
+            id = Integer.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (Math.abs(nowMillis - ts) > maxSkewMillis) {
+            return null;
+        }
+
+        byte[] expected = sign(userId, role, ts);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return MessageDigest.isEqual(expected, actual) ? new Identity(id, role) : null;
+    }
+
+    byte[] sign(String userId, String role, long timestampMillis) {
+        return mac.get().doFinal((userId + "\n" + role + "\n" + timestampMillis).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance("HmacSHA256");
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.rentit.productservice.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +16,13 @@ import java.util.List;
 
 public class JwtFilter extends OncePerRequestFilter {
 
+    // set only when rentit.security.mode=trusted-gateway
+    private final GatewayIdentityVerifier identityVerifier;
+
+    public JwtFilter(GatewayIdentityVerifier identityVerifier) {
+        this.identityVerifier = identityVerifier;
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -22,24 +30,39 @@ public class JwtFilter extends OncePerRequestFilter {
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+        Integer userId;
+        String role;
+
+        if (identityVerifier != null && identityVerifier.hasSignedHeaders(request)) {
+            // trusted-gateway mode: identity signed by the gateway, no JWT parsing here
+            GatewayIdentityVerifier.Identity identity = identityVerifier.verify(request);
+            if (identity == null) {
+                SecurityContextHolder.clearContext();
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            userId = identity.userId();
+            role = identity.role();
+        } else {
+            String authHeader = request.getHeader("Authorization");
+
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            Claims claims = JwtUtil.parseClaims(authHeader.substring(7));
+
+            if (claims == null) {
+                SecurityContextHolder.clearContext();
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+
+            userId = Integer.parseInt(claims.getSubject());
+            role = claims.get("role", String.class);
         }
 
-        String token = authHeader.substring(7);
-
-        if (!JwtUtil.validateToken(token)) {
-            SecurityContextHolder.clearContext();
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            return;
-        }
-
-        Integer userId = JwtUtil.extractUserId(token);
-        String role = JwtUtil.extractRole(token);
-
         if (role == null) {//guard:avoids ROLE_null bugs.
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
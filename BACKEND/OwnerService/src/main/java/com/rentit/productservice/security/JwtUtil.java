@@ -1,6 +1,7 @@
 package com.rentit.productservice.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys;
@@ -13,41 +14,37 @@ public class JwtUtil {
     private static final String SECRET =
             "rentit_super_secret_key_rentit_super_secret_key";
 
-    private static Key getSigningKey() {    
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // built once, JwtParser is immutable and thread-safe
+    private static final Key SIGNING_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
 
-    // ✅ VALIDATE TOKEN (same logic as login-service)
-    public static boolean validateToken(String token) {
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SIGNING_KEY)
+            .build();
+
+    // ✅ PARSE ONCE (null if the token is invalid or expired)
+    public static Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return PARSER.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 
+    // ✅ VALIDATE TOKEN (same logic as login-service)
+    public static boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
     // ✅ EXTRACT USER ID (from subject)
     public static Integer extractUserId(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = PARSER.parseClaimsJws(token).getBody();
 
         return Integer.parseInt(claims.getSubject());
     }
 
     // ✅ EXTRACT ROLE
     public static String extractRole(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = PARSER.parseClaimsJws(token).getBody();
 
         return claims.get("role", String.class);
     }
@@ -1,7 +1,9 @@
 package com.rentit.productservice.security;
 
+import java.time.Duration;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,6 +18,21 @@ import org.springframework.web.cors.*;
 @EnableWebSecurity
 public class SecurityConfig {
 
+	// jwt (default) or trusted-gateway: accept identity headers signed by the API gateway
+	// instead of parsing the bearer token; unsigned requests still use the token
+	@Value("${rentit.security.mode:jwt}")
+	private String securityMode;
+
+	@Value("${rentit.identity.secret:}")
+	private String identitySecret;
+
+	@Value("${rentit.identity.max-skew:PT30S}")
+	private Duration identityMaxSkew;
+
+	// actuator listens here, on loopback only (management.server.*)
+	@Value("${management.server.port}")
+	private int managementPort;
+
 	@Bean
 	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -38,17 +55,34 @@ public class SecurityConfig {
 	                "/api/`items/category/**"
 	            ).permitAll()
 
+	            // product images are loaded by <img> tags, no Authorization header
+	            .requestMatchers(HttpMethod.GET, "/api/products/*/images/*").permitAll()
+
+	            // metrics and health, only on the loopback management port; /actuator
+	            // is not served on the service port
+	            .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
+
 	            .anyRequest().authenticated()
 	        )
 
 	        .addFilterBefore(
-	            new JwtFilter(),
+	            new JwtFilter(gatewayIdentityVerifier()),
 	            UsernamePasswordAuthenticationFilter.class
 	        );
 
 	    return http.build();
 	}
 
+	private GatewayIdentityVerifier gatewayIdentityVerifier() {
+	    if (!"trusted-gateway".equalsIgnoreCase(securityMode)) {
+	        return null;
+	    }
+	    if (identitySecret.isBlank()) {
+	        throw new IllegalStateException("rentit.identity.secret is required in trusted-gateway mode");
+	    }
+	    return new GatewayIdentityVerifier(identitySecret, identityMaxSkew);
+	}
+
 
     // @Bean
     // public CorsConfigurationSource corsConfigurationSource() {
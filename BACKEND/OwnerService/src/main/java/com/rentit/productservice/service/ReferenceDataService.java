@@ -0,0 +1,66 @@
+package com.rentit.productservice.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+
+import com.rentit.productservice.config.CacheConfig;
+import com.rentit.productservice.entity.Category;
+import com.rentit.productservice.entity.Item;
+import com.rentit.productservice.repository.CategoryRepository;
+import com.rentit.productservice.repository.ItemRepository;
+
+/**
+ * Cached reads of categories and items. These tables are maintained by the
+ * admin side and change rarely, so entries live until the TTL runs out or
+ * {@link #evictAll()} is called.
+ */
+@Service
+public class ReferenceDataService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Cacheable(CacheConfig.CATEGORIES)
+    public List<Category> getAllCategories() {
+        return categoryRepository.findAll();
+    }
+
+    @Cacheable(value = CacheConfig.ITEMS_BY_CATEGORY, key = "#categoryId")
+    public List<Item> getItemsByCategory(int categoryId) {
+        return itemRepository.findByCategoryId(categoryId);
+    }
+
+    // misses are not cached, so a category added later is found on the next call
+    @Cacheable(value = CacheConfig.CATEGORY_BY_ID, key = "#categoryId", unless = "#result == null")
+    public Optional<Category> findCategory(int categoryId) {
+        return categoryRepository.findById(categoryId);
+    }
+
+    @Cacheable(value = CacheConfig.ITEM_BY_ID, key = "#itemId", unless = "#result == null")
+    public Optional<Item> findItem(int itemId) {
+        return itemRepository.findById(itemId);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.CATEGORIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.CATEGORY_BY_ID, allEntries = true),
+            @CacheEvict(value = CacheConfig.ITEMS_BY_CATEGORY, allEntries = true),
+            @CacheEvict(value = CacheConfig.ITEM_BY_ID, allEntries = true)
+    })
+    public void evictAll() {
+        log.info("Reference data cache cleared");
+    }
+}
@@ -0,0 +1,44 @@
+package com.rentit.productservice.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Content-addressed storage for image bytes. A blob is identified by the
+ * lowercase hex SHA-256 of its content, so the same image is stored once
+ * and the hash doubles as a strong ETag.
+ * <p>
+ * put() writes the file before the database transaction that references it
+ * commits. If that transaction rolls back, the blob stays behind with no
+ * row pointing at it. Blobs are never deleted by the services, because
+ * another row may share the same content, so such orphans only cost disk.
+ * They can be found offline: files whose hash appears in no img_N_hash or
+ * image_variant column.
+ */
+public interface BlobStore {
+
+    // stores the content and returns its hash; storing existing content is a no-op
+    String put(InputStream content) throws IOException;
+
+    default String put(byte[] content) throws IOException {
+        return put(new ByteArrayInputStream(content));
+    }
+
+    boolean exists(String hash);
+
+    long size(String hash) throws IOException;
+
+    // first bytes of the blob, enough to sniff the content type
+    byte[] readHead(String hash, int maxBytes) throws IOException;
+
+    byte[] get(String hash) throws IOException;
+
+    // reads the blob sequentially; the caller closes it
+    InputStream open(String hash) throws IOException;
+
+    // copies the blob to the target channel in chunks without loading it whole, returns
+    // the number of bytes written; only a file or socket target gets a kernel-level copy
+    long transferTo(String hash, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,82 @@
+package com.rentit.productservice.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rentit.productservice.entity.Image;
+import com.rentit.productservice.repository.ImageRepository;
+import com.rentit.productservice.util.ImageUtil;
+
+/**
+ * One-time move of image bytes from the img_N columns into the BlobStore.
+ * Runs at startup when rentit.blobstore.migrate-on-startup=true; each batch
+ * commits on its own, so it can be stopped and re-run safely.
+ */
+@Component
+@ConditionalOnProperty(name = "rentit.blobstore.migrate-on-startup", havingValue = "true")
+public class ImageBlobMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageBlobMigration.class);
+
+    private final ImageRepository imageRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ImageBlobMigration(ImageRepository imageRepository,
+                              BlobStore blobStore,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${rentit.blobstore.migration-batch-size:20}") int batchSize) {
+        this.imageRepository = imageRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int lastId = 0;
+        int migrated = 0;
+
+        while (true) {
+            List<Integer> ids = imageRepository.findLegacyBlobImageIds(lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> migrateBatch(ids));
+            migrated += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        log.info("Image blob migration done, rows moved: {}", migrated);
+    }
+
+    private void migrateBatch(List<Integer> ids) {
+        List<Image> images = imageRepository.findAllById(ids);
+        for (Image image : images) {
+            for (String slot : ImageUtil.SLOTS) {
+                byte[] data = image.getBlob(slot);
+                if (data == null) {
+                    continue;
+                }
+                try {
+                    image.setHash(slot, blobStore.put(data));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not store " + slot + " of image " + image.getImageId(), e);
+                }
+                image.setBlob(slot, null);
+            }
+        }
+        imageRepository.saveAll(images);
+    }
+}
@@ -0,0 +1,225 @@
+package com.rentit.productservice.storage;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.rentit.productservice.entity.ImageVariant;
+import com.rentit.productservice.repository.ImageVariantRepository;
+
+/**
+ * Builds the {@link ImageVariantType} copies of an uploaded image off the
+ * request thread. Variants are keyed by the source hash, so the same picture
+ * uploaded twice is only processed once. Every variant is re-encoded as JPEG.
+ * Images that cannot be resized (undecodable, or too many pixels) get variant
+ * rows pointing at the original, so they are not read and retried per request.
+ */
+@Component
+public class ImageVariantProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantProcessor.class);
+
+    private final BlobStore blobStore;
+    private final ImageVariantRepository variantRepository;
+    private final TaskExecutor executor;
+    private final float quality;
+    private final long maxPixels;
+
+    // hashes queued or being processed, so repeated requests do not pile up work
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantProcessor(BlobStore blobStore,
+                                 ImageVariantRepository variantRepository,
+                                 @Qualifier("imageProcessingExecutor") TaskExecutor executor,
+                                 @Value("${rentit.images.variants.jpeg-quality:0.8}") float quality,
+                                 @Value("${rentit.images.variants.max-pixels:40000000}") long maxPixels) {
+        this.blobStore = blobStore;
+        this.variantRepository = variantRepository;
+        this.executor = executor;
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Queues variant generation for a blob. Returns immediately; if the queue is
+     * full the request is dropped and the original keeps being served until the
+     * next call for the same hash.
+     */
+    public void submit(String sourceHash) {
+        if (sourceHash == null || !inFlight.add(sourceHash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(sourceHash);
+                } catch (Exception e) {
+                    log.warn("Image variants failed for {}: {}", sourceHash, e.getMessage());
+                } finally {
+                    inFlight.remove(sourceHash);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            inFlight.remove(sourceHash);
+            log.warn("Image variant queue full, skipped {}", sourceHash);
+        }
+    }
+
+    void process(String sourceHash) throws IOException {
+        Set<String> done = variantRepository.findBySourceHash(sourceHash).stream()
+                .map(ImageVariant::getVariant)
+                .collect(Collectors.toSet());
+        if (done.size() == ImageVariantType.values().length) {
+            return;
+        }
+
+        long sourceSize = blobStore.size(sourceHash);
+        BufferedImage source = decode(sourceHash);
+
+        for (ImageVariantType type : ImageVariantType.values()) {
+            if (done.contains(type.key())) {
+                continue;
+            }
+            ImageVariant variant = new ImageVariant();
+            variant.setSourceHash(sourceHash);
+            variant.setVariant(type.key());
+
+            if (source == null) {
+                // marker row: the original is served for this variant from now on
+                variant.setVariantHash(sourceHash);
+                variant.setSizeBytes(sourceSize);
+                save(variant);
+                continue;
+            }
+
+            BufferedImage scaled = scale(source, type.getMaxEdge());
+            byte[] jpeg = encodeJpeg(scaled);
+            if (jpeg.length < sourceSize) {
+                variant.setVariantHash(blobStore.put(jpeg));
+                variant.setWidth(scaled.getWidth());
+                variant.setHeight(scaled.getHeight());
+                variant.setSizeBytes(jpeg.length);
+            } else {
+                // already small and well compressed, re-encoding would only add bytes
+                variant.setVariantHash(sourceHash);
+                variant.setWidth(source.getWidth());
+                variant.setHeight(source.getHeight());
+                variant.setSizeBytes(sourceSize);
+            }
+
+            save(variant);
+        }
+    }
+
+    private void save(ImageVariant variant) {
+        try {
+            variantRepository.save(variant);
+        } catch (DataIntegrityViolationException e) {
+            // another instance finished this variant first
+        }
+    }
+
+    // null when ImageIO has no reader for the format (e.g. WEBP), the file is corrupt, or
+    // the declared size would not fit in memory. The blob is streamed: only the header has
+    // been read when the dimensions are checked, so an oversized file is never loaded
+    private BufferedImage decode(String sourceHash) {
+        try (InputStream blob = blobStore.open(sourceHash);
+             ImageInputStream in = new MemoryCacheImageInputStream(blob)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                log.info("No image reader for {}, serving the original", sourceHash);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} declares {} pixels (limit {}), serving the original",
+                            sourceHash, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // CMYK JPEGs and truncated files fail here
+            log.info("Could not decode {}, serving the original: {}", sourceHash, e.getMessage());
+            return null;
+        }
+    }
+
+    // fits the longer edge into maxEdge, halving first so large photos keep their detail
+    private static BufferedImage scale(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    // RGB on a white background: JPEG has no alpha channel
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.rentit.productservice.storage;
+
+/**
+ * Resized copies generated for every uploaded product image, smallest first.
+ * maxEdge bounds the longer side; images are never upscaled.
+ */
+public enum ImageVariantType {
+
+    THUMB(160),
+    CARD(480),
+    FULL(1280);
+
+    private final int maxEdge;
+
+    ImageVariantType(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public static ImageVariantType fromKey(String key) {
+        for (ImageVariantType type : values()) {
+            if (type.key().equalsIgnoreCase(key)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Invalid image variant: " + key);
+    }
+
+    // smallest variant that still covers the requested display width
+    public static ImageVariantType forWidth(int width) {
+        for (ImageVariantType type : values()) {
+            if (width <= type.maxEdge) {
+                return type;
+            }
+        }
+        return FULL;
+    }
+}
@@ -0,0 +1,52 @@
+package com.rentit.productservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+
+public final class ImageUtil {
+
+    // image columns of the image table, same keys the frontend uses
+    public static final List<String> SLOTS = List.of("img1", "img2", "img3", "img4", "img5");
+
+    private ImageUtil() {
+    }
+
+    public static boolean isValidSlot(String slot) {
+        return slot != null && SLOTS.contains(slot.toLowerCase());
+    }
+
+    // sniff the type from the magic bytes, uploads are not trusted for Content-Type
+    public static MediaType detectContentType(byte[] data) {
+        if (data == null || data.length < 4) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        if ((data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if ((data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return MediaType.IMAGE_PNG;
+        }
+        if (data[0] == 'G' && data[1] == 'I' && data[2] == 'F' && data[3] == '8') {
+            return MediaType.IMAGE_GIF;
+        }
+        if (data.length >= 12
+                && new String(data, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                && new String(data, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    public static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
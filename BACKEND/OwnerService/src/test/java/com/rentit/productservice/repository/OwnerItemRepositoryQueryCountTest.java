@@ -0,0 +1,66 @@
+package com.rentit.productservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+
+import com.rentit.productservice.entity.Category;
+import com.rentit.productservice.entity.Item;
+import com.rentit.productservice.entity.OwnerItem;
+import com.rentit.productservice.metrics.MetricsConfig;
+import com.rentit.productservice.metrics.QueryCounts;
+import com.rentit.productservice.response.MyProductResponse;
+
+// backs ProductController.getMyProducts: item and category names come from the same select
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(MetricsConfig.class)
+class OwnerItemRepositoryQueryCountTest {
+
+    private static final int OWNER_ID = 7;
+
+    @Autowired
+    private OwnerItemRepository ownerItemRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void myProductsIsOneSelect() {
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setCategoryName("category" + i);
+            em.persist(category);
+
+            Item item = new Item();
+            item.setItemName("item" + i);
+            item.setCategoryId(category.getCategoryId());
+            em.persist(item);
+
+            OwnerItem ownerItem = new OwnerItem();
+            ownerItem.setUserId(OWNER_ID);
+            ownerItem.setItemId(item.getItemId());
+            ownerItem.setBrand("brand" + i);
+            ownerItem.setStatus("AVAILABLE");
+            em.persist(ownerItem);
+        }
+        em.flush();
+        em.clear();
+
+        QueryCounts.reset();
+        List<MyProductResponse> rows = ownerItemRepository.findMyProducts(OWNER_ID, null, 0, Pageable.unpaged());
+
+        assertEquals(5, rows.size());
+        QueryCounts.assertSelectCount(1);
+    }
+}
@@ -0,0 +1,39 @@
+package com.rentit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rentit.addtocart.dto.CartResponseDTO;
+import com.rentit.addtocart.entities.Cart;
+import com.rentit.addtocart.mappers.CartMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartMapperBenchmark {
+
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        cart = Fixtures.cart(1, Fixtures.user(7, "Asha"), Fixtures.ownerItem(11, Fixtures.user(3, "Ravi")));
+    }
+
+    @Benchmark
+    public CartResponseDTO toDto() {
+        return CartMapper.toDto(cart);
+    }
+}
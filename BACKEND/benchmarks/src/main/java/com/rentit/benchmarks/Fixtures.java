@@ -0,0 +1,90 @@
+package com.rentit.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.rentit.addtocart.entities.Cart;
+import com.rentit.addtocart.entities.ItemStatus;
+import com.rentit.addtocart.entities.OwnerItem;
+import com.rentit.addtocart.entities.User;
+
+/** Test data and wiring shared by the benchmarks; no Spring context, no database. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User user(int id, String firstName) {
+        User user = new User();
+        user.setUser_id(id);
+        user.setRole_id(2);
+        user.setFirst_name(firstName);
+        user.setLast_name("Patil");
+        user.setEmail(firstName.toLowerCase() + "@rentit.test");
+        user.setPhone_no(9876543210L);
+        user.setAddress("Pune");
+        user.setStatus(1);
+        user.setDate_time(LocalDateTime.of(2026, 1, 1, 10, 0));
+        return user;
+    }
+
+    static OwnerItem ownerItem(int otId, User owner) {
+        OwnerItem item = new OwnerItem();
+        item.setOt_id(otId);
+        item.setUser(owner);
+        item.setItem_id(otId % 40 + 1);
+        item.setBrand("Brand " + otId);
+        item.setDescription("Well kept item number " + otId + ", available for short rentals");
+        item.setCondition_type("GOOD");
+        item.setRent_per_day(150 + otId % 50);
+        item.setDeposit_amt(2000);
+        item.setStatus(ItemStatus.AVAILABLE);
+        item.setMax_rent_days(30);
+        item.setVersion(0);
+        return item;
+    }
+
+    static Cart cart(int cartId, User customer, OwnerItem item) {
+        Cart cart = new Cart();
+        cart.setCart_id(cartId);
+        cart.setCustomer(customer);
+        cart.setOwneritem(item);
+        cart.setDate_time(LocalDateTime.of(2026, 1, 2, 12, 30));
+        return cart;
+    }
+
+    // repository stand-in: answers the listed methods, anything else is a benchmark bug
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    // services use field injection; set the fields the way Spring would
+    static void inject(Object target, String field, Object value) {
+        try {
+            Field f = target.getClass().getDeclaredField(field);
+            f.setAccessible(true);
+            f.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + field, e);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.rentit.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Closed-loop HTTP load against a running CustomerService, for comparing the
+ * default Tomcat pool with the virtual-threads profile. Unlike the JMH
+ * benchmarks this needs the real stack (MySQL, blob store), so run it against
+ * a test database. Start the service once per mode on the same data:
+ * <pre>
+ *   java -jar AddToCartService.jar                                            # platform
+ *   java -jar AddToCartService.jar --spring.profiles.active=virtual-threads   # virtual
+ * </pre>
+ * and run the driver against each, with a CUSTOMER token:
+ * <pre>
+ *   java -cp target/benchmarks.jar com.rentit.benchmarks.HttpLoadDriver \
+ *       --scenario listing --base http://localhost:8082 --token $JWT \
+ *       --concurrency 50,200,800 --label platform
+ *   java -cp target/benchmarks.jar com.rentit.benchmarks.HttpLoadDriver \
+ *       --scenario order --base http://localhost:8082 --token $JWT --items 1-400 \
+ *       --concurrency 50,200,400 --label platform
+ * </pre>
+ * Scenarios: {@code listing} is GET /getallproducts; {@code order} adds an item to
+ * the cart and times only the POST /order/place that follows (each order
+ * deletes its cart row). Every order gets its own dates far in the future, so
+ * bookings never overlap; one item is booked by one worker at a time, so the
+ * effective concurrency of {@code order} is at most the number of items.
+ * Results go to target/load-&lt;label&gt;-&lt;scenario&gt;.json.
+ */
+public class HttpLoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // orders are booked two days apart from here on
+    private static final LocalDate FIRST_BOOKING = LocalDate.of(2030, 1, 1);
+
+    record Sample(int status, long nanos) {
+    }
+
+    interface Scenario {
+        Sample run(int worker) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String scenarioName = options.getOrDefault("scenario", "listing");
+        String base = options.getOrDefault("base", "http://localhost:8082");
+        String token = options.get("token");
+        if (token == null) {
+            throw new IllegalArgumentException("--token <customer JWT> is required");
+        }
+        int[] levels = Arrays.stream(options.getOrDefault("concurrency", "50,200,800").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        String label = options.getOrDefault("label", "run");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Scenario scenario = switch (scenarioName) {
+            case "listing" -> listing(client, base, token);
+            case "order" -> order(client, base, token, items(options.getOrDefault("items", "1-100")));
+            default -> throw new IllegalArgumentException("unknown scenario " + scenarioName);
+        };
+
+        System.out.printf("%-10s %-8s %11s %9s %8s %10s %9s %9s %9s%n",
+                "label", "scenario", "concurrency", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int concurrency : levels) {
+            drive(scenario, concurrency, warmup);
+            Map<String, Object> result = summarize(drive(scenario, concurrency, duration), concurrency, duration);
+            results.add(result);
+            System.out.printf("%-10s %-8s %11d %9d %8d %10.1f %9.1f %9.1f %9.1f%n",
+                    label, scenarioName, concurrency, result.get("requests"), result.get("errors"),
+                    result.get("throughput"), result.get("p50Ms"), result.get("p99Ms"), result.get("maxMs"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("scenario", scenarioName);
+        report.put("base", base);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("results", results);
+        Path out = Path.of("target", "load-" + label + "-" + scenarioName + ".json");
+        Files.createDirectories(out.getParent());
+        JSON.writeValue(out.toFile(), report);
+        System.out.println("Results written to " + out);
+    }
+
+    private static Scenario listing(HttpClient client, String base, String token) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/getallproducts"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return worker -> {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return new Sample(response.statusCode(), System.nanoTime() - start);
+        };
+    }
+
+    private static Scenario order(HttpClient client, String base, String token, List<Integer> items) {
+        AtomicLong bookings = new AtomicLong();
+        Map<Integer, ReentrantLock> itemLocks = new HashMap<>();
+        items.forEach(item -> itemLocks.put(item, new ReentrantLock()));
+
+        return worker -> {
+            Integer item = items.get(worker % items.size());
+            ReentrantLock lock = itemLocks.get(item);
+            lock.lock();
+            try {
+                HttpResponse<String> added = client.send(HttpRequest.newBuilder(URI.create(base + "/addtocart"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"ownerItemId\": " + item + "}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                if (added.statusCode() != 200) {
+                    // the add failed, not the measured call; count it as an error without a latency
+                    return new Sample(added.statusCode(), -1);
+                }
+                JsonNode cart = JSON.readTree(added.body());
+
+                LocalDate startDate = FIRST_BOOKING.plusDays(2 * bookings.getAndIncrement());
+                URI place = URI.create(base + "/order/place?cartId=" + cart.get("cart_id").asInt()
+                        + "&startDate=" + startDate + "&endDate=" + startDate.plusDays(1));
+                HttpRequest request = HttpRequest.newBuilder(place)
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+
+                long start = System.nanoTime();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                long nanos = System.nanoTime() - start;
+                // placeOrder reports conflicts and failures in the body with 200/400
+                boolean placed = response.statusCode() == 200 && response.body().contains("\"success\":true");
+                return new Sample(placed ? 200 : Math.max(response.statusCode(), 400), nanos);
+            } finally {
+                lock.unlock();
+            }
+        };
+    }
+
+    // one virtual thread per simulated client, each sending its next request as soon
+    // as the previous one returns
+    private static List<Sample> drive(Scenario scenario, int concurrency, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<List<Sample>>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                workers.add(executor.submit(() -> {
+                    List<Sample> samples = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            samples.add(scenario.run(worker));
+                        } catch (IOException e) {
+                            samples.add(new Sample(-1, -1));
+                        }
+                    }
+                    return samples;
+                }));
+            }
+        }
+        List<Sample> all = new ArrayList<>();
+        for (Future<List<Sample>> worker : workers) {
+            try {
+                all.addAll(worker.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("worker failed", e.getCause());
+            }
+        }
+        return all;
+    }
+
+    private static Map<String, Object> summarize(List<Sample> samples, int concurrency, Duration duration) {
+        long[] latencies = samples.stream()
+                .filter(s -> s.status() >= 200 && s.status() < 300)
+                .mapToLong(Sample::nanos)
+                .sorted()
+                .toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("concurrency", concurrency);
+        result.put("requests", samples.size());
+        result.put("errors", samples.size() - latencies.length);
+        result.put("throughput", latencies.length / (double) duration.toSeconds());
+        result.put("p50Ms", percentileMs(latencies, 0.50));
+        result.put("p90Ms", percentileMs(latencies, 0.90));
+        result.put("p99Ms", percentileMs(latencies, 0.99));
+        result.put("maxMs", latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+        return result;
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // "1-100" or "3,7,12"
+    private static List<Integer> items(String spec) {
+        List<Integer> items = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] range = part.trim().split("-");
+            int from = Integer.parseInt(range[0]);
+            int to = range.length > 1 ? Integer.parseInt(range[1]) : from;
+            for (int item = from; item <= to; item++) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,107 @@
+package com.rentit.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.rentit.addtocart.security.GatewayIdentityVerifier;
+import com.rentit.addtocart.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request identity cost in CustomerService's JwtFilter:
+ * the original path (key derived and token parsed three times), the
+ * single-parse JWT path, and trusted-gateway signed headers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentityVerificationBenchmark {
+
+    // same values as the services' application.properties / JwtUtil
+    private static final String JWT_SECRET = "rentit_super_secret_key_rentit_super_secret_key";
+    private static final String IDENTITY_SECRET = "rentit_internal_identity_key_rentit_internal_identity_key";
+
+    private String token;
+    private GatewayIdentityVerifier verifier;
+    private String userId;
+    private String role;
+    private String timestamp;
+    private String signature;
+    private long now;
+
+    @Setup
+    public void setUp() throws Exception {
+        token = Jwts.builder()
+                .setSubject("42")
+                .claim("role", "CUSTOMER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // what the gateway's IdentitySigner sends
+        userId = "42";
+        role = "CUSTOMER";
+        now = System.currentTimeMillis();
+        timestamp = Long.toString(now);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(IDENTITY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        signature = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                mac.doFinal((userId + "\n" + role + "\n" + timestamp).getBytes(StandardCharsets.UTF_8)));
+
+        verifier = new GatewayIdentityVerifier(IDENTITY_SECRET, Duration.ofSeconds(30));
+        if (verifier.verify(userId, role, timestamp, signature, now) == null) {
+            throw new IllegalStateException("signature construction does not match GatewayIdentityVerifier");
+        }
+    }
+
+    // the filter before this change: validate, then extract id and role, each a full parse with a fresh key
+    @Benchmark
+    public void jwtThreeParsesFreshKey(Blackhole bh) {
+        for (int i = 0; i < 3; i++) {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            bh.consume(claims);
+        }
+    }
+
+    @Benchmark
+    public void jwtSingleParse(Blackhole bh) {
+        Claims claims = JwtUtil.parseClaims(token);
+        bh.consume(claims.getSubject());
+        bh.consume(claims.get("role", String.class));
+    }
+
+    @Benchmark
+    public GatewayIdentityVerifier.Identity signedHeaders() {
+        return verifier.verify(userId, role, timestamp, signature, now);
+    }
+}
@@ -0,0 +1,74 @@
+package com.rentit.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rentit.gateway.util.VerifiedToken;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token issue (LoginService) and verification in each service's JwtUtil.
+ * The gateway is measured both parsing and answering from its verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "rentit_super_secret_key_rentit_super_secret_key";
+
+    private String token;
+    private com.rentit.gateway.util.JwtUtil gatewayJwt;
+
+    @Setup
+    public void setUp() {
+        token = com.rentit.signin.security.JwtUtil.generateToken(42, "CUSTOMER");
+        gatewayJwt = new com.rentit.gateway.util.JwtUtil(SECRET, 10_000, Duration.ofMinutes(15));
+    }
+
+    @Benchmark
+    public String loginGenerateToken() {
+        return com.rentit.signin.security.JwtUtil.generateToken(42, "CUSTOMER");
+    }
+
+    @Benchmark
+    public String loginExtractRole() {
+        return com.rentit.signin.security.JwtUtil.extractRole(token);
+    }
+
+    @Benchmark
+    public Claims customerParseClaims() {
+        return com.rentit.addtocart.security.JwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims ownerParseClaims() {
+        return com.rentit.productservice.security.JwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims gatewayParseClaims() {
+        return gatewayJwt.extractAllClaims(token);
+    }
+
+    // repeat caller: digest + cache hit, no HMAC or JSON
+    @Benchmark
+    public VerifiedToken gatewayVerifyCached() {
+        return gatewayJwt.verify(token);
+    }
+}
@@ -0,0 +1,214 @@
+package com.rentit.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.rentit.addtocart.dto.CartResponseDTO;
+import com.rentit.addtocart.dto.ImageSlots;
+import com.rentit.addtocart.dto.ProductDetailsDTO;
+import com.rentit.addtocart.dto.ProductPageDTO;
+import com.rentit.addtocart.entities.Image;
+import com.rentit.addtocart.entities.ImageVariant;
+import com.rentit.addtocart.entities.OwnerItem;
+import com.rentit.addtocart.entities.User;
+import com.rentit.addtocart.mappers.CartMapper;
+import com.rentit.addtocart.repositories.ImageRepository;
+import com.rentit.addtocart.repositories.ImageVariantRepository;
+import com.rentit.addtocart.repositories.OwnerItemRepository;
+import com.rentit.addtocart.services.OwnerItemService;
+import com.rentit.addtocart.storage.LocalBlobStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CustomerService listing paths with the database replaced by in-memory stubs:
+ * DTO building with inline Base64 images (getAllProducts), the URL-only keyset
+ * page (getProductsPage), and Jackson serialization of the resulting payloads.
+ * variants=false serves the uploaded originals, variants=true the card copies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListingBenchmark {
+
+    private static final int ORIGINAL_BYTES = 400 * 1024;
+    private static final int CARD_BYTES = 40 * 1024;
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Param({ "20" })
+    public int products;
+
+    @Param({ "false", "true" })
+    public boolean variants;
+
+    private Path blobRoot;
+    private OwnerItemService service;
+    private ObjectMapper objectMapper;
+
+    private List<ProductDetailsDTO> base64Listing;
+    private ProductPageDTO urlPage;
+    private List<CartResponseDTO> cartListing;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        blobRoot = Files.createTempDirectory("rentit-bench-blobs");
+        // OwnerService writes the store, CustomerService only reads it
+        com.rentit.productservice.storage.LocalBlobStore writer =
+                new com.rentit.productservice.storage.LocalBlobStore(blobRoot.toString());
+        LocalBlobStore blobStore = new LocalBlobStore(blobRoot.toString());
+        Random random = new Random(42);
+
+        User owner = Fixtures.user(3, "Ravi");
+        User customer = Fixtures.user(7, "Asha");
+        List<OwnerItem> items = new ArrayList<>();
+        Map<Integer, Image> images = new HashMap<>();
+        Map<String, String> cardBySource = new HashMap<>();
+
+        for (int otId = 1; otId <= products; otId++) {
+            OwnerItem item = Fixtures.ownerItem(otId, owner);
+            items.add(item);
+
+            Image image = new Image();
+            image.setOwnerItem(item);
+            for (int slot = 1; slot <= IMAGES_PER_PRODUCT; slot++) {
+                String original = writer.put(randomBytes(random, ORIGINAL_BYTES));
+                cardBySource.put(original, writer.put(randomBytes(random, CARD_BYTES)));
+                switch (slot) {
+                    case 1 -> image.setImg1Hash(original);
+                    case 2 -> image.setImg2Hash(original);
+                    default -> image.setImg3Hash(original);
+                }
+            }
+            images.put(otId, image);
+        }
+
+        Map<String, Function<Object[], Object>> ownerItemAnswers = new HashMap<>();
+        ownerItemAnswers.put("findAllAvailableProducts", args -> items);
+        ownerItemAnswers.put("findAvailableAfter", args -> items);
+
+        Map<String, Function<Object[], Object>> imageAnswers = new HashMap<>();
+        imageAnswers.put("findByOwnerItemOtId", args -> images.get((Integer) args[0]));
+        imageAnswers.put("findByOwnerItemIds", args -> {
+            List<Image> found = new ArrayList<>();
+            for (Object otId : (Collection<?>) args[0]) {
+                found.add(images.get((Integer) otId));
+            }
+            return found;
+        });
+        imageAnswers.put("findImageSlotsByOwnerItemIds", args -> {
+            List<ImageSlots> slots = new ArrayList<>();
+            for (Object otId : (Collection<?>) args[0]) {
+                slots.add(Fixtures.stub(ImageSlots.class, Map.of(
+                        "getOtId", a -> otId,
+                        "getImg1", a -> true,
+                        "getImg2", a -> true,
+                        "getImg3", a -> true,
+                        "getImg4", a -> false,
+                        "getImg5", a -> false)));
+            }
+            return slots;
+        });
+
+        Map<String, Function<Object[], Object>> variantAnswers = new HashMap<>();
+        variantAnswers.put("findBySourceHashInAndVariant", args -> {
+            List<ImageVariant> found = new ArrayList<>();
+            if (variants) {
+                for (Object hash : (Collection<?>) args[0]) {
+                    ImageVariant variant = new ImageVariant();
+                    variant.setSourceHash((String) hash);
+                    variant.setVariant((String) args[1]);
+                    variant.setVariantHash(cardBySource.get(hash));
+                    found.add(variant);
+                }
+            }
+            return found;
+        });
+
+        service = new OwnerItemService();
+        Fixtures.inject(service, "repo", Fixtures.stub(OwnerItemRepository.class, ownerItemAnswers));
+        Fixtures.inject(service, "imageRepo", Fixtures.stub(ImageRepository.class, imageAnswers));
+        Fixtures.inject(service, "variantRepo", Fixtures.stub(ImageVariantRepository.class, variantAnswers));
+        Fixtures.inject(service, "blobStore", blobStore);
+        Fixtures.inject(service, "meterRegistry", new SimpleMeterRegistry());
+        Fixtures.inject(service, "imageBaseUrl", "/api/products");
+        Fixtures.inject(service, "listingVariant", "card");
+        Fixtures.inject(service, "detailVariant", "full");
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        base64Listing = service.getAllProducts();
+        urlPage = service.getProductsPage(null, products);
+        cartListing = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            cartListing.add(CartMapper.toDto(Fixtures.cart(i + 1, customer, items.get(i))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(blobRoot)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // DTOs + blob reads + Base64 of every image (the grid endpoint)
+    @Benchmark
+    public List<ProductDetailsDTO> buildBase64Listing() {
+        return service.getAllProducts();
+    }
+
+    // DTOs + image URLs, no image bytes touched (/getproducts)
+    @Benchmark
+    public ProductPageDTO buildUrlPage() {
+        return service.getProductsPage(null, products);
+    }
+
+    @Benchmark
+    public byte[] serializeBase64Listing() throws IOException {
+        return objectMapper.writeValueAsBytes(base64Listing);
+    }
+
+    @Benchmark
+    public byte[] serializeUrlPage() throws IOException {
+        return objectMapper.writeValueAsBytes(urlPage);
+    }
+
+    @Benchmark
+    public byte[] serializeCartListing() throws IOException {
+        return objectMapper.writeValueAsBytes(cartListing);
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,71 @@
+package com.rentit.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rentit.gateway.util.BloomFilter;
+
+/**
+ * Gateway revocation check against filters of different sizes. The filter is
+ * built by LoginService's BloomFilter and loaded from its bytes by the
+ * gateway's copy, the same path as a real poll. The time should not move
+ * with revokedCount.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevocationCheckBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revokedCount;
+
+    private BloomFilter gatewayFilter;
+    private String revokedJti;
+    private String activeJti;
+
+    @Setup
+    public void setUp() {
+        List<String> jtis = new ArrayList<>(revokedCount);
+        for (int i = 0; i < revokedCount; i++) {
+            jtis.add(UUID.randomUUID().toString());
+        }
+        com.rentit.signin.security.BloomFilter published =
+                com.rentit.signin.security.BloomFilter.of(jtis, 1000, 0.000001);
+        gatewayFilter = BloomFilter.fromBytes(published.toBytes(), published.getNumBits(), published.getNumHashes());
+
+        revokedJti = jtis.get(jtis.size() / 2);
+        activeJti = UUID.randomUUID().toString();
+        if (!gatewayFilter.mightContain(revokedJti)) {
+            throw new IllegalStateException("Gateway copy disagrees with the published filter");
+        }
+    }
+
+    // the common case: a live token, usually rejected by the first unset bit
+    @Benchmark
+    public boolean activeToken() {
+        return gatewayFilter.mightContain(activeJti);
+    }
+
+    // worst case: every hash position is checked
+    @Benchmark
+    public boolean revokedToken() {
+        return gatewayFilter.mightContain(revokedJti);
+    }
+}
@@ -0,0 +1,10 @@
+-- Product images move to the file blob store (OwnerService LocalBlobStore).
+-- The image table keeps the SHA-256 of each image; img_1..img_5 stay until
+-- the migration job (rentit.blobstore.migrate-on-startup=true) has emptied them.
+
+ALTER TABLE image
+    ADD COLUMN img_1_hash VARCHAR(64) NULL,
+    ADD COLUMN img_2_hash VARCHAR(64) NULL,
+    ADD COLUMN img_3_hash VARCHAR(64) NULL,
+    ADD COLUMN img_4_hash VARCHAR(64) NULL,
+    ADD COLUMN img_5_hash VARCHAR(64) NULL;
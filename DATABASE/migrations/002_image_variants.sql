@@ -0,0 +1,14 @@
+-- Resized copies of product images (OwnerService ImageVariantProcessor).
+-- Keyed by the source image hash, so products sharing an image share its
+-- variants. The bytes live in the blob store under variant_hash.
+
+CREATE TABLE image_variant (
+    variant_id   INT AUTO_INCREMENT PRIMARY KEY,
+    source_hash  VARCHAR(64) NOT NULL,
+    variant      VARCHAR(16) NOT NULL,
+    variant_hash VARCHAR(64) NOT NULL,
+    width        INT NOT NULL,
+    height       INT NOT NULL,
+    size_bytes   BIGINT NOT NULL,
+    UNIQUE KEY uk_image_variant_source (source_hash, variant)
+);
@@ -0,0 +1,6 @@
+-- Optimistic version for owner_items (CustomerService RentalAvailabilityEngine).
+-- Every order bumps it, so two service instances cannot commit overlapping
+-- bookings of the same item.
+
+ALTER TABLE owner_items
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
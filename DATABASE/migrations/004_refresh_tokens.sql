@@ -0,0 +1,30 @@
+-- Rotating refresh tokens and revoked access-token ids (LoginService TokenService).
+-- Only the SHA-256 of a refresh token is stored. Every refresh marks the old
+-- row used and inserts its successor in the same family; presenting a used
+-- token again revokes the whole family. access_jti is the access token issued
+-- alongside, so revoking the row also revokes that token.
+-- revoked_token rows are only needed until the access token would have
+-- expired anyway; LoginService purges them after expires_at.
+
+CREATE TABLE refresh_token (
+    token_id          INT AUTO_INCREMENT PRIMARY KEY,
+    user_id           INT NOT NULL,
+    token_hash        VARCHAR(64) NOT NULL,
+    family_id         VARCHAR(36) NOT NULL,
+    access_jti        VARCHAR(36),
+    access_expires_at DATETIME,
+    created_at        DATETIME NOT NULL,
+    expires_at        DATETIME NOT NULL,
+    used_at           DATETIME,
+    revoked_at        DATETIME,
+    UNIQUE KEY uk_refresh_token_hash (token_hash),
+    KEY idx_refresh_token_family (family_id),
+    KEY idx_refresh_token_user (user_id),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES user (user_id)
+);
+
+CREATE TABLE revoked_token (
+    jti        VARCHAR(36) PRIMARY KEY,
+    expires_at DATETIME NOT NULL,
+    KEY idx_revoked_token_expires (expires_at)
+);
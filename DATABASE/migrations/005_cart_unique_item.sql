@@ -0,0 +1,13 @@
+-- One cart row per (customer, item): CustomerService add-to-cart upserts on this key,
+-- so double clicks and retried requests no longer create duplicate lines.
+-- Existing duplicates are collapsed onto the oldest row first.
+
+DELETE newer
+FROM cart newer
+JOIN cart older
+  ON older.customer_id = newer.customer_id
+ AND older.item_id = newer.item_id
+ AND older.cart_id < newer.cart_id;
+
+ALTER TABLE cart
+    ADD UNIQUE KEY uk_cart_customer_item (customer_id, item_id);
@@ -115,24 +115,26 @@ const Cart = () => {
   // 🧾 PLACE ALL ORDERS
   const handlePlaceAllOrders = async () => {
   try {
-    const billedCartIds = [];
-
-    for (const item of cartProducts) {
+    const lines = cartProducts.map((item) => {
       const range = dateRanges[item.cart_id][0];
-      const startDate = format(range.startDate, "yyyy-MM-dd");
-      const endDate = format(range.endDate, "yyyy-MM-dd");
+      return {
+        cartId: item.cart_id,
+        startDate: format(range.startDate, "yyyy-MM-dd"),
+        endDate: format(range.endDate, "yyyy-MM-dd"),
+      };
+    });
 
-      console.log(`Placing order for cart ${item.cart_id}:`, { startDate, endDate });
+    console.log("Checking out cart lines:", lines);
 
-      const res = await orderService.placeOrder(
-        item.cart_id,
-        startDate,
-        endDate
-      );
+    // one request for the whole cart; each line reports its own result
+    const res = await orderService.checkout(lines);
+    const results = res.data?.results || [];
+    const billedCartIds = results.filter((r) => r.success).map((r) => r.cartId);
+    const failed = results.filter((r) => !r.success);
 
-      if (res.data?.success) {
-        billedCartIds.push(item.cart_id);
-      }
+    if (failed.length > 0) {
+      console.warn("Lines not placed:", failed);
+      alert(failed.map((r) => r.message).join("\n"));
     }
 
     console.log("Billed carts:", billedCartIds);
@@ -8,9 +8,14 @@ const EditProductImages = ({ otId }) => {
   const [loading, setLoading] = useState(false);
   const [success, setSuccess] = useState('');
   const [error, setError] = useState('');
+  // bumped after an upload so the browser does not show the cached old image
+  const [version, setVersion] = useState(0);
 
   const imageKeys = ['img1', 'img2', 'img3', 'img4', 'img5'];
 
+  const imageUrl = (key) =>
+    `${import.meta.env.VITE_OWNER_API_URL}/products/${otId}/images/${key}?v=${version}`;
+
   /* =========================
      LOAD EXISTING IMAGES
      ========================= */
@@ -72,6 +77,7 @@ const EditProductImages = ({ otId }) => {
       const res = await ownerService.getProductImages(otId);
       setExistingImages(res.data);
       setNewImages({});
+      setVersion(v => v + 1);
 
       setSuccess('Images updated successfully');
     } catch {
@@ -102,7 +108,7 @@ const EditProductImages = ({ otId }) => {
                 />
               ) : existingImages[key] ? (
                 <img
-                  src={`data:image/jpeg;base64,${existingImages[key]}`}
+                  src={imageUrl(key)}
                   alt="product"
                   style={{ height: '140px', objectFit: 'cover' }}
                 />
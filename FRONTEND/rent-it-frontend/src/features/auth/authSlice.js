@@ -4,6 +4,7 @@ import { loginThunk } from "./authThunks";
 const initialState = {
   user: null,
   token: null,
+  refreshToken: null,
   isAuthenticated: false,
   loading: false,
   error: null,
@@ -16,10 +17,16 @@ const authSlice = createSlice({
     forceLogout: (state) => {
       state.user = null;
       state.token = null;
+      state.refreshToken = null;
       state.isAuthenticated = false;
       state.loading = false;
       state.error = null;
     },
+    // access tokens last 15 minutes; api.js swaps in a new pair on 401
+    tokenRefreshed: (state, action) => {
+      state.token = action.payload.token;
+      state.refreshToken = action.payload.refreshToken;
+    },
   },
   extraReducers: (builder) => {
     builder
@@ -31,6 +38,7 @@ const authSlice = createSlice({
         state.loading = false;
         state.user = action.payload.user;
         state.token = action.payload.token;
+        state.refreshToken = action.payload.refreshToken;
         state.isAuthenticated = true;
       })
       .addCase(loginThunk.rejected, (state, action) => {
@@ -40,5 +48,5 @@ const authSlice = createSlice({
   },
 });
 
-export const { forceLogout } = authSlice.actions;
+export const { forceLogout, tokenRefreshed } = authSlice.actions;
 export default authSlice.reducer;
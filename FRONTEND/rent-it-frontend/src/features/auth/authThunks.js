@@ -19,6 +19,7 @@ localStorage.setItem("token", response.data.token);
 
         user: response.data.user,
         token: response.data.token,
+        refreshToken: response.data.refreshToken,
       };
     } catch (err) {
       return rejectWithValue(
@@ -30,7 +31,16 @@ localStorage.setItem("token", response.data.token);
 
 export const logoutThunk = createAsyncThunk(
   "auth/logout",
-  async (_, { dispatch }) => {
+  async (_, { dispatch, getState }) => {
+    // revoke the refresh token (and this access token) server-side; never block logout on it
+    const refreshToken = getState()?.auth?.refreshToken;
+    if (refreshToken) {
+      try {
+        await authService.logout(refreshToken);
+      } catch (err) {
+        console.warn("Logout request failed", err);
+      }
+    }
     dispatch({ type: "auth/forceLogout" });
     return true;
   }
@@ -48,6 +48,58 @@ ownerApi.interceptors.request.use(attachToken);
 productApi.interceptors.request.use(attachToken);
 billApi.interceptors.request.use(attachToken);
 
+// ================== TOKEN REFRESH ==================
+// Access tokens are short-lived. On a 401 the refresh token is exchanged once
+// for a new pair and the request is retried; concurrent 401s share that call
+// because each refresh token can only be used once.
+let refreshInFlight = null;
+
+const refreshOnUnauthorized = (instance) => async (error) => {
+  const original = error.config;
+  const store = getStore();
+  const refreshToken = store?.getState()?.auth?.refreshToken;
+
+  if (
+    error.response?.status !== 401 ||
+    !original ||
+    original._retried ||
+    !refreshToken ||
+    original.url?.startsWith("/api/login") ||
+    original.url?.startsWith("/api/token/refresh")
+  ) {
+    return Promise.reject(error);
+  }
+  original._retried = true;
+
+  try {
+    if (!refreshInFlight) {
+      refreshInFlight = authApi
+        .post("/api/token/refresh", { refreshToken })
+        .finally(() => {
+          refreshInFlight = null;
+        });
+    }
+    const { data } = await refreshInFlight;
+
+    store.dispatch({
+      type: "auth/tokenRefreshed",
+      payload: { token: data.token, refreshToken: data.refreshToken },
+    });
+    localStorage.setItem("token", data.token);
+
+    original.headers.Authorization = `Bearer ${data.token}`;
+    return instance(original);
+  } catch (refreshError) {
+    store.dispatch({ type: "auth/forceLogout" });
+    return Promise.reject(error);
+  }
+};
+
+authApi.interceptors.response.use((r) => r, refreshOnUnauthorized(authApi));
+ownerApi.interceptors.response.use((r) => r, refreshOnUnauthorized(ownerApi));
+productApi.interceptors.response.use((r) => r, refreshOnUnauthorized(productApi));
+billApi.interceptors.response.use((r) => r, refreshOnUnauthorized(billApi));
+
 
 
 export const authService = {
@@ -55,6 +107,10 @@ export const authService = {
     return authApi.post("/api/login", credentials);
   },
 
+  logout: async (refreshToken) => {
+    return authApi.post("/api/logout", { refreshToken });
+  },
+
 
 
   register: async (userData) => {
@@ -234,9 +290,14 @@ export const cartService = {
    * Add item to cart
    * Backend must read userId from JWT (via JwtFilter)
    * Request body: { ownerItemId }
+   * One Idempotency-Key per click, so a retried request is answered with the first result
    */
-  addToCart: async (ownerItemId) => {
-    return productApi.post("/addtocart", { ownerItemId });
+  addToCart: async (ownerItemId, idempotencyKey = crypto.randomUUID()) => {
+    return productApi.post(
+      "/addtocart",
+      { ownerItemId },
+      { headers: { "Idempotency-Key": idempotencyKey } }
+    );
   },
 
   /**
@@ -275,14 +336,11 @@ export const orderService = {
   },
   
   /**
-   * Place orders for multiple cart items (BULK)
+   * Place orders for several cart items in one request
+   * lines: [{ cartId, startDate, endDate }] -> one result per line
    */
-  placeBulkOrders: async (cartIds, startDate, endDate) => {
-    return productApi.post('/order/bulk-place', { 
-      cartIds, 
-      startDate, 
-      endDate 
-    });
+  checkout: async (lines) => {
+    return productApi.post('/order/checkout', { lines });
   }
 };
 